@@ -22,15 +22,36 @@ public class GeneralConfig extends DummyConfig {
     @ConfigurableProperty(category = "core", comment = "How many ticks importers/exporters should sleep until checking targets again when they were previously unchanged.", configLocation = ModConfig.Type.SERVER)
     public static int inventoryUnchangedTickTimeout = 10;
 
+    @ConfigurableProperty(category = "core", comment = "The maximum number of ticks importers/exporters should sleep when their targets remain unchanged, as the sleep duration doubles on each consecutive failure.", isCommandable = true, minimalValue = 0, configLocation = ModConfig.Type.SERVER)
+    public static int inventoryUnchangedTickTimeoutMax = 200;
+
+    @ConfigurableProperty(category = "core", comment = "The maximum number of consecutive movements item and fluid importers/exporters can do per tick, each movement being limited by the part's rate.", isCommandable = true, minimalValue = 1, configLocation = ModConfig.Type.SERVER)
+    public static int maxMovementsPerTick = 1;
+
     @ConfigurableProperty(category = "core", comment = "The maximum network fluid transfer rate.", isCommandable = true, minimalValue = 0, configLocation = ModConfig.Type.SERVER)
     public static int fluidRateLimit = Integer.MAX_VALUE;
 
+    @ConfigurableProperty(category = "core", comment = "The maximum number of items that importers and exporters can move into or out of each item network channel per tick, shared fairly between them. This limit applies to every item network on the server, it can not be changed per network. 0 disables the limit.", isCommandable = true, minimalValue = 0, configLocation = ModConfig.Type.SERVER)
+    public static int itemChannelRateLimit = 0;
+
+    @ConfigurableProperty(category = "core", comment = "The maximum amount of fluid in mB that importers and exporters can move into or out of each fluid network channel per tick, shared fairly between them. This limit applies to every fluid network on the server, it can not be changed per network. 0 disables the limit.", isCommandable = true, minimalValue = 0, configLocation = ModConfig.Type.SERVER)
+    public static int fluidChannelRateLimit = 0;
+
+    @ConfigurableProperty(category = "core", comment = "For how many ticks unused network channel throughput can be saved up for bursts.", isCommandable = true, minimalValue = 1, configLocation = ModConfig.Type.SERVER)
+    public static int channelRateBurstTicks = 20;
+
     @ConfigurableProperty(category = "core", comment = "If particles should be shown and sounds should be played when tunnels are interacting with the world.", isCommandable = true)
     public static boolean worldInteractionEvents = true;
 
     @ConfigurableProperty(category = "core", comment = "If items should be ejected into the world when item movement failed due to item handlers declaring inconsistent movement in simulation mode. If disabled, items can be voided.", isCommandable = true, configLocation = ModConfig.Type.SERVER)
     public static boolean ejectItemsOnInconsistentSimulationMovement = true;
 
+    @ConfigurableProperty(category = "core", comment = "If exporters may move ingredients out of the network without simulating first when no slots or exact amounts are involved, by inserting non-accepted ingredients back into the network.", isCommandable = true, configLocation = ModConfig.Type.SERVER)
+    public static boolean optimisticIngredientMovement = false;
+
+    @ConfigurableProperty(category = "core", comment = "The maximum number of distinct items or fluids for which each operator-based importer/exporter filter remembers its result during a transfer. Set to 0 to disable caching for all parts, it can also be disabled per part with the Cache Operator Results aspect property.", isCommandable = true, minimalValue = 0, configLocation = ModConfig.Type.SERVER)
+    public static int operatorPredicateCacheSize = 256;
+
     @ConfigurableProperty(category = "core", comment = "If items should be ejected into the world when a block is broken and not all items fit into the target. Will be voided otherwise.", isCommandable = true)
     public static boolean ejectItemsOnBlockDropOverflow = true;
 
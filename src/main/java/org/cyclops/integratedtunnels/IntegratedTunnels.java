@@ -26,6 +26,7 @@ import org.cyclops.integratedtunnels.capability.ingredient.TunnelIngredientCompo
 import org.cyclops.integratedtunnels.capability.network.FluidNetworkConfig;
 import org.cyclops.integratedtunnels.capability.network.ItemNetworkConfig;
 import org.cyclops.integratedtunnels.capability.network.TunnelNetworkCapabilityConstructors;
+import org.cyclops.integratedtunnels.core.TunnelSleepTickHandler;
 import org.cyclops.integratedtunnels.core.part.ContainerInterfaceSettingsConfig;
 import org.cyclops.integratedtunnels.core.world.BlockBreakHandlerRegistry;
 import org.cyclops.integratedtunnels.core.world.BlockBreakHandlers;
@@ -75,6 +76,7 @@ public class IntegratedTunnels extends ModBaseVersionable<IntegratedTunnels> {
         super.setup(event);
 
         MinecraftForge.EVENT_BUS.register(new TunnelNetworkCapabilityConstructors());
+        MinecraftForge.EVENT_BUS.register(new TunnelSleepTickHandler());
 
         // Register value list proxies
         TunnelValueTypeListProxyFactories.load();
@@ -98,12 +100,14 @@ public class IntegratedTunnels extends ModBaseVersionable<IntegratedTunnels> {
                 TunnelAspects.Read.Item.LIST_ITEMSTACKS,
                 TunnelAspects.Read.Item.OPERATOR_GETITEMCOUNT,
                 TunnelAspects.Read.Item.INTEGER_INTERFACES,
+                TunnelAspects.Read.Item.DOUBLE_UTILISATION,
 
                 TunnelAspects.Read.Fluid.LONG_COUNT,
                 TunnelAspects.Read.Fluid.LONG_COUNTMAX,
                 TunnelAspects.Read.Fluid.LIST_FLUIDSTACKS,
                 TunnelAspects.Read.Fluid.OPERATOR_GETFLUIDCOUNT,
-                TunnelAspects.Read.Fluid.INTEGER_INTERFACES
+                TunnelAspects.Read.Fluid.INTEGER_INTERFACES,
+                TunnelAspects.Read.Fluid.DOUBLE_UTILISATION
         ));
     }
 
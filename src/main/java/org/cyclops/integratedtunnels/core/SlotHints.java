@@ -0,0 +1,71 @@
+package org.cyclops.integratedtunnels.core;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.cyclops.integratedtunnels.part.aspect.ITunnelConnection;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * The slots in which a connection most recently found something to extract,
+ * most recent first, so that they can be probed before scanning a whole storage.
+ * @author rubensworks
+ */
+public class SlotHints {
+
+    public static final int SIZE = 4;
+    private static final int MAX_CONNECTIONS = 4096;
+
+    private static final Cache<ITunnelConnection, SlotHints> CACHE = CacheBuilder.newBuilder()
+            .maximumSize(MAX_CONNECTIONS)
+            .build();
+
+    private final int[] slots = new int[SIZE];
+
+    protected SlotHints() {
+        Arrays.fill(this.slots, -1);
+    }
+
+    /**
+     * @param connection A connection.
+     * @return The slot hints of the given connection.
+     */
+    public static SlotHints get(ITunnelConnection connection) {
+        try {
+            return CACHE.get(connection, SlotHints::new);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Forget all slot hints, for when the server stops.
+     */
+    public static void clear() {
+        CACHE.invalidateAll();
+    }
+
+    /**
+     * @param index A hint index, smaller than {@link #SIZE}.
+     * @return The hinted slot, or -1 if there is no hint at that index.
+     */
+    public int getSlot(int index) {
+        return slots[index];
+    }
+
+    /**
+     * Mark the given slot as the most recent one in which something was found.
+     * The least recent hint is dropped if there is no room left.
+     * @param slot A slot.
+     */
+    public void onFound(int slot) {
+        int index = 0;
+        while (index < SIZE - 1 && slots[index] != slot) {
+            index++;
+        }
+        System.arraycopy(slots, 0, slots, 1, index);
+        slots[0] = slot;
+    }
+
+}
@@ -0,0 +1,114 @@
+package org.cyclops.integratedtunnels.core;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntList;
+import net.minecraft.network.chat.TranslatableComponent;
+import org.cyclops.integrateddynamics.api.evaluate.EvaluationException;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * An immutable selection of slots, defined by inclusive slot ranges.
+ *
+ * It is parsed from a comma-separated list of slots and slot ranges, such as "0-8,12,15-17".
+ * @author rubensworks
+ */
+public class SlotRanges {
+
+    public static final String ERROR_INVALID = "aspect.aspecttypes.integratedtunnels.string.item.slots.error";
+
+    private static final int MAX_VALUES = 1024;
+    private static final Cache<String, Optional<SlotRanges>> CACHE = CacheBuilder.newBuilder()
+            .maximumSize(MAX_VALUES)
+            .build();
+
+    // Pairs of inclusive start and end slots
+    private final int[] ranges;
+
+    protected SlotRanges(int[] ranges) {
+        this.ranges = ranges;
+    }
+
+    /**
+     * Parse the given slot ranges.
+     * As aspect properties rarely change, parsed values are cached.
+     * @param value A comma-separated list of slots and slot ranges.
+     * @return The slot ranges, or null if the value is empty.
+     * @throws EvaluationException If the value is invalid.
+     */
+    @Nullable
+    public static SlotRanges parse(String value) throws EvaluationException {
+        Optional<SlotRanges> cached = CACHE.getIfPresent(value);
+        if (cached == null) {
+            cached = Optional.ofNullable(parseUncached(value));
+            CACHE.put(value, cached);
+        }
+        return cached.orElse(null);
+    }
+
+    @Nullable
+    protected static SlotRanges parseUncached(String value) throws EvaluationException {
+        if (value.isBlank()) {
+            return null;
+        }
+        IntList ranges = new IntArrayList();
+        for (String part : value.split(",")) {
+            String range = part.trim();
+            int separator = range.indexOf('-', 1);
+            try {
+                int start = Integer.parseInt((separator < 0 ? range : range.substring(0, separator)).trim());
+                int end = separator < 0 ? start : Integer.parseInt(range.substring(separator + 1).trim());
+                if (start < 0 || end < start) {
+                    throw new EvaluationException(new TranslatableComponent(ERROR_INVALID, value));
+                }
+                ranges.add(start);
+                ranges.add(end);
+            } catch (NumberFormatException e) {
+                throw new EvaluationException(new TranslatableComponent(ERROR_INVALID, value));
+            }
+        }
+        return new SlotRanges(ranges.toIntArray());
+    }
+
+    /**
+     * @return The number of ranges.
+     */
+    public int getRangeCount() {
+        return ranges.length / 2;
+    }
+
+    /**
+     * @param range A range index.
+     * @return The first slot of the given range.
+     */
+    public int getStart(int range) {
+        return ranges[range * 2];
+    }
+
+    /**
+     * @param range A range index.
+     * @return The last slot of the given range, inclusive.
+     */
+    public int getEnd(int range) {
+        return ranges[range * 2 + 1];
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof SlotRanges && Arrays.equals(this.ranges, ((SlotRanges) obj).ranges);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(ranges);
+    }
+
+    @Override
+    public String toString() {
+        return "[SlotRanges " + Arrays.toString(ranges) + "]";
+    }
+}
@@ -0,0 +1,119 @@
+package org.cyclops.integratedtunnels.core;
+
+import com.google.common.collect.Lists;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * A hierarchical timing wheel that schedules values at a certain tick.
+ *
+ * Each level has 64 slots, where a slot of a higher level spans all slots of the level below.
+ * Scheduling and advancing a tick are both amortised constant time.
+ *
+ * @param <T> The value type.
+ * @author rubensworks
+ */
+public class TimingWheel<T> {
+
+    private static final int LEVELS = 4;
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    public static final long MAX_DELAY = 1L << (SLOT_BITS * (LEVELS - 1));
+
+    private final List<Entry<T>>[][] buckets;
+    private long tick = 0;
+
+    @SuppressWarnings("unchecked")
+    public TimingWheel() {
+        this.buckets = new List[LEVELS][SLOTS];
+    }
+
+    /**
+     * @return The current tick.
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * Schedule the given value.
+     * Ticks in the past are scheduled for the next tick,
+     * and ticks beyond {@link #MAX_DELAY} are scheduled at that delay.
+     * @param value A value.
+     * @param atTick The tick at which the value must be emitted.
+     */
+    public void schedule(T value, long atTick) {
+        schedule(new Entry<>(value, Math.max(this.tick + 1, Math.min(atTick, this.tick + MAX_DELAY))));
+    }
+
+    protected void schedule(Entry<T> entry) {
+        // Find the lowest level at which the entry tick falls within the current span
+        int level = 0;
+        while (level < LEVELS - 1 && (entry.tick >> (SLOT_BITS * (level + 1))) != (this.tick >> (SLOT_BITS * (level + 1)))) {
+            level++;
+        }
+        int slot = (int) ((entry.tick >> (SLOT_BITS * level)) & SLOT_MASK);
+        List<Entry<T>> bucket = buckets[level][slot];
+        if (bucket == null) {
+            bucket = buckets[level][slot] = Lists.newArrayList();
+        }
+        bucket.add(entry);
+    }
+
+    /**
+     * Advance the wheel by one tick, and emit all values that were scheduled at that tick.
+     * @param consumer The consumer for emitted values.
+     */
+    public void advance(Consumer<T> consumer) {
+        this.tick++;
+
+        // Cascade entries of higher levels into lower levels when their span starts
+        int level = 0;
+        while (level < LEVELS - 1 && ((this.tick >> (SLOT_BITS * level)) & SLOT_MASK) == 0) {
+            level++;
+        }
+        for (; level > 0; level--) {
+            int slot = (int) ((this.tick >> (SLOT_BITS * level)) & SLOT_MASK);
+            List<Entry<T>> bucket = buckets[level][slot];
+            if (bucket != null) {
+                buckets[level][slot] = null;
+                for (Entry<T> entry : bucket) {
+                    schedule(entry);
+                }
+            }
+        }
+
+        int slot = (int) (this.tick & SLOT_MASK);
+        List<Entry<T>> bucket = buckets[0][slot];
+        if (bucket != null) {
+            buckets[0][slot] = null;
+            for (Entry<T> entry : bucket) {
+                consumer.accept(entry.value);
+            }
+        }
+    }
+
+    /**
+     * Remove all scheduled values.
+     */
+    public void clear() {
+        for (List<Entry<T>>[] levelBuckets : buckets) {
+            for (int i = 0; i < levelBuckets.length; i++) {
+                levelBuckets[i] = null;
+            }
+        }
+    }
+
+    private static class Entry<T> {
+        private final T value;
+        private final long tick;
+
+        private Entry(T value, long tick) {
+            this.value = value;
+            this.tick = tick;
+        }
+    }
+
+}
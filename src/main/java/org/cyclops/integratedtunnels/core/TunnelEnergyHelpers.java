@@ -7,6 +7,8 @@ import org.cyclops.cyclopscore.ingredient.storage.IngredientStorageHelpers;
 import org.cyclops.integrateddynamics.api.evaluate.EvaluationException;
 import org.cyclops.integrateddynamics.api.network.INetwork;
 import org.cyclops.integrateddynamics.api.network.IPositionedAddonsNetworkIngredients;
+import org.cyclops.integratedtunnels.core.network.ChannelIndexDeltas;
+import org.cyclops.integratedtunnels.core.network.PartPosIteratorHandlerRecording;
 
 /**
  * @author Ruben Taelman (ruben.taelman@ugent.be)
@@ -23,13 +25,16 @@ public class TunnelEnergyHelpers {
      * @param amount The maximum amount to transfer.
      * @param exact If only the exact amount is allowed to be transferred.
      * @param craftIfFailed If energy should be crafted if transfer failed.
+     * @param fromNetwork If the source is the network channel, otherwise the target is.
      * @return The moved energy amount.
      * @throws EvaluationException If illegal movement occured and further movement should stop.
      */
     public static long moveEnergy(INetwork network, IPositionedAddonsNetworkIngredients<Long, Boolean> ingredientsNetwork,
                                  int channel, IIngredientComponentStorage<Long, Boolean> source,
                                  IIngredientComponentStorage<Long, Boolean> target, long amount, boolean exact,
-                                 boolean craftIfFailed) throws EvaluationException {
+                                 boolean craftIfFailed, boolean fromNetwork) throws EvaluationException {
+        // Do the actual movement, while recording the network positions it visits
+        PartPosIteratorHandlerRecording recording = PartPosIteratorHandlerRecording.start(ingredientsNetwork);
         long moved;
         try {
             moved = IngredientStorageHelpers.moveIngredients(source, target, amount, exact, false);
@@ -39,10 +44,16 @@ public class TunnelEnergyHelpers {
                     "due to inconsistent insertion behaviour by destination in simulation " +
                     "and non-simulation mode. This can be caused by invalid network setups. Lost ")
                         .append(e.getIngredientComponent().getMatcher().getDisplayName(e.getRemainder())));
+        } finally {
+            recording.stop();
+        }
+        ChannelIndexDeltas<Long> deltas = ChannelIndexDeltas.get(ingredientsNetwork);
+        if (deltas != null && moved != 0) {
+            deltas.record(channel, moved, fromNetwork);
         }
 
-        // Schedule a new observation for the network, as its contents may have changed
-        ingredientsNetwork.scheduleObservation();
+        // Schedule a new observation for the visited positions, as their contents may have changed
+        recording.scheduleObservation(channel, moved != 0);
 
         if (craftIfFailed && moved == 0 && target.insert(amount, true) == amount) {
             TunnelHelpers.requestCrafting(network, ingredientsNetwork, channel, amount, exact);
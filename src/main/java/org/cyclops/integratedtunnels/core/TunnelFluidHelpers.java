@@ -28,9 +28,12 @@ import org.cyclops.integratedtunnels.core.predicate.IngredientPredicate;
 import org.cyclops.integratedtunnels.core.predicate.IngredientPredicateFluidStackList;
 import org.cyclops.integratedtunnels.core.predicate.IngredientPredicateFluidStackNbt;
 import org.cyclops.integratedtunnels.core.predicate.IngredientPredicateFluidStackOperator;
+import org.cyclops.integratedtunnels.core.predicate.IngredientPredicatePool;
 import org.cyclops.integratedtunnels.part.aspect.ITunnelConnection;
 
 import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Optional;
 
 /**
@@ -55,23 +58,41 @@ public class TunnelFluidHelpers {
         }
     };
 
+    private static final Object MATCH_ALL_KEY = new Object();
+    private static final Object NULL_FLUIDSTACK_KEY = new Object();
+
     public static IngredientPredicate<FluidStack, Integer> matchAll(final int amount, final boolean exactAmount) {
-        return new IngredientPredicate<FluidStack, Integer>(IngredientComponent.FLUIDSTACK, new FluidStack(Fluids.WATER, amount), exactAmount ? FluidMatch.AMOUNT : FluidMatch.ANY, false, false, amount, exactAmount) {
+        return IngredientPredicatePool.get(MATCH_ALL_KEY, IngredientPredicatePool.parameters(amount, exactAmount),
+                () -> new IngredientPredicate<FluidStack, Integer>(IngredientComponent.FLUIDSTACK, new FluidStack(Fluids.WATER, amount), exactAmount ? FluidMatch.AMOUNT : FluidMatch.ANY, false, false, amount, exactAmount) {
             @Override
             public boolean test(FluidStack input) {
                 return true;
             }
-        };
+        });
     }
 
     public static IngredientPredicate<FluidStack, Integer> matchFluidStack(final FluidStack fluidStack, final boolean checkFluid,
                                                                            final boolean checkAmount, final boolean checkNbt,
                                                                            final boolean blacklist, final boolean exactAmount) {
+        return IngredientPredicatePool.get(fluidStack != null ? fluidStack : NULL_FLUIDSTACK_KEY,
+                IngredientPredicatePool.parameters(0, checkFluid, checkAmount, checkNbt, blacklist, exactAmount),
+                () -> matchFluidStackUnpooled(fluidStack, checkFluid, checkAmount, checkNbt, blacklist, exactAmount));
+    }
+
+    /**
+     * Create a predicate like {@link #matchFluidStack(FluidStack, boolean, boolean, boolean, boolean, boolean)},
+     * without going through the predicate pool.
+     * This is meant for prototypes that are newly created on every call, which would never be found in the pool.
+     */
+    public static IngredientPredicate<FluidStack, Integer> matchFluidStackUnpooled(final FluidStack fluidStack, final boolean checkFluid,
+                                                                                   final boolean checkAmount, final boolean checkNbt,
+                                                                                   final boolean blacklist, final boolean exactAmount) {
         int matchFlags = FluidMatch.ANY;
         if (checkFluid)  matchFlags = matchFlags | FluidMatch.FLUID;
         if (checkNbt)    matchFlags = matchFlags | FluidMatch.TAG;
         if (checkAmount) matchFlags = matchFlags | FluidMatch.AMOUNT;
-        return new IngredientPredicate<FluidStack, Integer>(IngredientComponent.FLUIDSTACK, fluidStack != null ? fluidStack.copy() : null, matchFlags, blacklist, fluidStack == null && !blacklist,
+        final int finalMatchFlags = matchFlags;
+        return new IngredientPredicate<FluidStack, Integer>(IngredientComponent.FLUIDSTACK, fluidStack != null ? fluidStack.copy() : null, finalMatchFlags, blacklist, fluidStack == null && !blacklist,
                 FluidHelpers.getAmount(fluidStack), exactAmount) {
             @Override
             public boolean test(@Nullable FluidStack input) {
@@ -81,24 +102,43 @@ public class TunnelFluidHelpers {
                 }
                 return result;
             }
+
+            @Nullable
+            @Override
+            public Collection<FluidStack> getExcludedPrototypes() {
+                return blacklist && !checkAmount && fluidStack != null ? Collections.singletonList(getInstance()) : null;
+            }
+
+            @Override
+            public Integer getIndexMatchFlags() {
+                return (checkFluid ? FluidMatch.FLUID : FluidMatch.ANY) | (checkNbt ? FluidMatch.TAG : FluidMatch.ANY);
+            }
         };
     }
 
     public static IngredientPredicate<FluidStack, Integer> matchFluidStacks(final IValueTypeListProxy<ValueObjectTypeFluidStack, ValueObjectTypeFluidStack.ValueFluidStack> fluidStacks,
                                                                             final boolean checkFluid, final boolean checkAmount, final boolean checkNbt,
                                                                             final boolean blacklist, final int amount, final boolean exactAmount) {
-        return new IngredientPredicateFluidStackList(blacklist, amount, exactAmount, fluidStacks, checkFluid, checkAmount, checkNbt);
+        return IngredientPredicatePool.get(fluidStacks, IngredientPredicatePool.parameters(amount, checkFluid, checkAmount, checkNbt, blacklist, exactAmount),
+                () -> new IngredientPredicateFluidStackList(blacklist, amount, exactAmount, fluidStacks, checkFluid, checkAmount, checkNbt));
     }
 
     public static IngredientPredicate<FluidStack, Integer> matchPredicate(final PartTarget partTarget, final IOperator predicate,
                                                                           final int amount, final boolean exactAmount) {
-        return new IngredientPredicateFluidStackOperator(amount, exactAmount, predicate, partTarget);
+        return matchPredicate(partTarget, predicate, amount, exactAmount, true);
+    }
+
+    public static IngredientPredicate<FluidStack, Integer> matchPredicate(final PartTarget partTarget, final IOperator predicate,
+                                                                          final int amount, final boolean exactAmount,
+                                                                          final boolean cacheResults) {
+        return IngredientPredicatePool.intern(new IngredientPredicateFluidStackOperator(amount, exactAmount, predicate, partTarget, cacheResults));
     }
 
     public static IngredientPredicate<FluidStack, Integer> matchNbt(final Optional<Tag> tag, final boolean subset, final boolean superset, final boolean requireNbt, final boolean recursive,
                                                                     final boolean blacklist,
                                                                     final int amount, final boolean exactAmount) {
-        return new IngredientPredicateFluidStackNbt(blacklist, amount, exactAmount, requireNbt, subset, tag, recursive, superset);
+        return IngredientPredicatePool.get(tag, IngredientPredicatePool.parameters(amount, subset, superset, requireNbt, recursive, blacklist, exactAmount),
+                () -> new IngredientPredicateFluidStackNbt(blacklist, amount, exactAmount, requireNbt, subset, tag, recursive, superset));
     }
 
     public static boolean areFluidStackEqual(FluidStack stackA, FluidStack stackB,
@@ -134,6 +174,10 @@ public class TunnelFluidHelpers {
                                          IIngredientComponentStorage<FluidStack, Integer> source, final Level world, final BlockPos pos,
                                          IngredientPredicate<FluidStack, Integer> fluidStackMatcher, boolean blockUpdate,
                                          boolean ignoreReplacable, boolean craftIfFailed) throws EvaluationException {
+        if (!TunnelSleepHelpers.isTicking(world, pos)) {
+            TunnelSleepHelpers.park(connection, world, pos);
+            return null;
+        }
         BlockState destBlockState = world.getBlockState(pos);
         final Material destMaterial = destBlockState.getMaterial();
         final boolean isDestNonSolid = !destMaterial.isSolid();
@@ -145,7 +189,7 @@ public class TunnelFluidHelpers {
 
         IIngredientComponentStorage<FluidStack, Integer> destination = new FluidStorageBlockWrapper((ServerLevel) world, pos, null, blockUpdate);
         return TunnelHelpers.moveSingleStateOptimized(network, ingredientsNetwork, channel, connection, source,
-                -1, destination, -1, fluidStackMatcher, PartPos.of(world, pos, null), craftIfFailed);
+                -1, destination, -1, fluidStackMatcher, PartPos.of(world, pos, null), craftIfFailed, true);
     }
 
     /**
@@ -166,12 +210,16 @@ public class TunnelFluidHelpers {
                                           int channel, ITunnelConnection connection, Level world, BlockPos pos, Direction side,
                                           IIngredientComponentStorage<FluidStack, Integer> destination,
                                           IngredientPredicate<FluidStack, Integer> fluidStackMatcher) throws EvaluationException {
+        if (!TunnelSleepHelpers.isTicking(world, pos)) {
+            TunnelSleepHelpers.park(connection, world, pos);
+            return null;
+        }
         BlockState state = world.getBlockState(pos);
         Block block = state.getBlock();
         if (block instanceof LiquidBlock) {
             IIngredientComponentStorage<FluidStack, Integer> source = new FluidStorageBlockWrapper((ServerLevel) world, pos, side, false);
             return TunnelHelpers.moveSingleStateOptimized(network, ingredientsNetwork, channel, connection, source,
-                    -1, destination, -1, fluidStackMatcher, PartPos.of(world, pos, side), false);
+                    -1, destination, -1, fluidStackMatcher, PartPos.of(world, pos, side), false, false);
         }
         return null;
     }
@@ -1,7 +1,5 @@
 package org.cyclops.integratedtunnels.core;
 
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
 import net.minecraft.network.chat.TextComponent;
@@ -17,34 +15,32 @@ import org.cyclops.commoncapabilities.api.ingredient.IngredientComponent;
 import org.cyclops.commoncapabilities.api.ingredient.storage.IIngredientComponentStorage;
 import org.cyclops.commoncapabilities.api.ingredient.storage.IIngredientComponentStorageSlotted;
 import org.cyclops.cyclopscore.helper.ItemStackHelpers;
-import org.cyclops.cyclopscore.helper.MinecraftHelpers;
 import org.cyclops.cyclopscore.ingredient.storage.InconsistentIngredientInsertionException;
 import org.cyclops.cyclopscore.ingredient.storage.IngredientStorageHelpers;
 import org.cyclops.integrateddynamics.IntegratedDynamics;
 import org.cyclops.integrateddynamics.api.evaluate.EvaluationException;
-import org.cyclops.integrateddynamics.api.ingredient.IIngredientPositionsIndex;
 import org.cyclops.integrateddynamics.api.network.INetwork;
 import org.cyclops.integrateddynamics.api.network.INetworkCraftingHandlerRegistry;
 import org.cyclops.integrateddynamics.api.network.IPositionedAddonsNetworkIngredients;
 import org.cyclops.integrateddynamics.api.part.PartPos;
 import org.cyclops.integratedtunnels.GeneralConfig;
 import org.cyclops.integratedtunnels.IntegratedTunnels;
+import org.cyclops.integratedtunnels.core.network.ChannelIndexDeltas;
+import org.cyclops.integratedtunnels.core.network.ChannelThroughputGovernor;
+import org.cyclops.integratedtunnels.core.network.PartPosIteratorHandlerRecording;
 import org.cyclops.integratedtunnels.core.predicate.IngredientPredicate;
+import org.cyclops.integratedtunnels.core.predicate.IngredientPredicateChannelMatches;
 import org.cyclops.integratedtunnels.part.aspect.ITunnelConnection;
+import org.cyclops.integratedtunnels.part.aspect.TunnelConnectionPositionedNetwork;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
-import java.util.concurrent.TimeUnit;
 
 /**
  * @author rubensworks
  */
 public class TunnelHelpers {
 
-    private static final Cache<ITunnelConnection, Boolean> CACHE_INV_CHECKS = CacheBuilder.newBuilder()
-            .expireAfterWrite(GeneralConfig.inventoryUnchangedTickTimeout * (1000 / MinecraftHelpers.SECOND_IN_TICKS),
-                    TimeUnit.MILLISECONDS).build();
-
     /**
      * Move instances from source to destination.
      * @param source The source instance storage.
@@ -65,29 +61,47 @@ public class TunnelHelpers {
                                       IIngredientComponentStorage<T, M> destination, int destinationSlot,
                                       IngredientPredicate<T, M> ingredientPredicate, PartPos movementPosition,
                                       boolean simulate) throws EvaluationException {
+        return moveSingle(source, sourceSlot, destination, destinationSlot, ingredientPredicate, movementPosition, simulate, false);
+    }
+
+    /**
+     * Move instances from source to destination.
+     * @param source The source instance storage.
+     * @param sourceSlot The source slot.
+     * @param destination The destination ingredient storage.
+     * @param destinationSlot The destination slot.
+     * @param ingredientPredicate Only instances matching this predicate will be moved.
+     * @param movementPosition The position at which the movement is happening.
+     *                         This is used for handling {@link InconsistentIngredientInsertionException}.
+     * @param simulate If the transfer should be simulated.
+     * @param sourceReinsertable If the source is known to accept instances that were extracted from it back,
+     *                           such as a network channel, which allows moving without simulating first.
+     * @param <T> The instance type.
+     * @param <M> The matching condition parameter.
+     * @return The moved instance.
+     * @throws EvaluationException If illegal movement occured and further movement should stop.
+     */
+    @Nonnull
+    public static <T, M> T moveSingle(IIngredientComponentStorage<T, M> source, int sourceSlot,
+                                      IIngredientComponentStorage<T, M> destination, int destinationSlot,
+                                      IngredientPredicate<T, M> ingredientPredicate, PartPos movementPosition,
+                                      boolean simulate, boolean sourceReinsertable) throws EvaluationException {
         try {
             try {
-                if (ingredientPredicate.hasMatchFlags()) {
+                if (!simulate && sourceReinsertable && canMoveOptimistically(sourceSlot, destinationSlot, ingredientPredicate)) {
+                    return moveOptimistically(source, destination, ingredientPredicate, movementPosition);
+                } else if (ingredientPredicate.hasMatchFlags()) {
                     return IngredientStorageHelpers.moveIngredientsSlotted(source, sourceSlot, destination, destinationSlot,
                             ingredientPredicate.getInstance(), ingredientPredicate.getMatchFlags(), simulate);
+                } else if (canMoveIndexed(source, sourceSlot, ingredientPredicate)) {
+                    return moveIndexed(source, destination, destinationSlot, ingredientPredicate, simulate);
                 } else {
                     return IngredientStorageHelpers.moveIngredientsSlotted(source, sourceSlot, destination, destinationSlot,
                             ingredientPredicate, ingredientPredicate.getMaxQuantity(), ingredientPredicate.isExactQuantity(), simulate);
                 }
             } catch (InconsistentIngredientInsertionException e) {
                 // Handle movement errors due to inconsistent simulation.
-                // If we are moving items, emit them in the world, otherwise they go lost.
-                if (GeneralConfig.ejectItemsOnInconsistentSimulationMovement && e.getIngredientComponent().equals(IngredientComponent.ITEMSTACK)) {
-                    ItemStackHelpers.spawnItemStack(movementPosition.getPos().getLevel(true), movementPosition.getPos().getBlockPos(), e.getRemainder());
-                    throw new EvaluationException(new TextComponent("Ingredient movement failed " +
-                            "due to inconsistent insertion behaviour by destination in simulation " +
-                            "and non-simulation mode. This can be caused by invalid network setups. " +
-                            "Ejected failed item in world."));
-                }
-                throw new EvaluationException(new TextComponent("Ingredient movement failed " +
-                        "due to inconsistent insertion behaviour by destination in simulation " +
-                        "and non-simulation mode. This can be caused by invalid network setups. Lost ")
-                            .append(e.getIngredientComponent().getMatcher().getDisplayName(e.getRemainder())));
+                throw createInconsistentMovementException((IngredientComponent) e.getIngredientComponent(), (Object) e.getRemainder(), movementPosition);
             }
         } catch (IllegalStateException e) {
             IntegratedTunnels.clog(org.apache.logging.log4j.Level.WARN, e.getMessage());
@@ -95,6 +109,231 @@ public class TunnelHelpers {
         }
     }
 
+    /**
+     * Move instances from source to destination,
+     * where source and destination can each be restricted to a set of slot ranges.
+     * The slots within the ranges are tried in order, until a slot is found from or to which something can be moved.
+     * Slot ranges are ignored for storages that are not slotted.
+     * @param source The source instance storage.
+     * @param sourceSlot The source slot, used if the source slot ranges are null.
+     * @param sourceSlots The source slot ranges, can be null.
+     * @param destination The destination ingredient storage.
+     * @param destinationSlot The destination slot, used if the destination slot ranges are null.
+     * @param destinationSlots The destination slot ranges, can be null.
+     * @param ingredientPredicate Only instances matching this predicate will be moved.
+     * @param movementPosition The position at which the movement is happening.
+     *                         This is used for handling {@link InconsistentIngredientInsertionException}.
+     * @param simulate If the transfer should be simulated.
+     * @param <T> The instance type.
+     * @param <M> The matching condition parameter.
+     * @return The moved instance.
+     * @throws EvaluationException If illegal movement occured and further movement should stop.
+     */
+    @Nonnull
+    public static <T, M> T moveSingle(IIngredientComponentStorage<T, M> source, int sourceSlot, @Nullable SlotRanges sourceSlots,
+                                      IIngredientComponentStorage<T, M> destination, int destinationSlot, @Nullable SlotRanges destinationSlots,
+                                      IngredientPredicate<T, M> ingredientPredicate, PartPos movementPosition,
+                                      boolean simulate) throws EvaluationException {
+        return moveSingle(source, sourceSlot, sourceSlots, destination, destinationSlot, destinationSlots,
+                ingredientPredicate, movementPosition, simulate, false);
+    }
+
+    /**
+     * Move instances from source to destination,
+     * where source and destination can each be restricted to a set of slot ranges.
+     * If both are restricted, the destination slot ranges are tried for each source slot.
+     * @param source The source instance storage.
+     * @param sourceSlot The source slot, used if the source slot ranges are null.
+     * @param sourceSlots The source slot ranges, can be null.
+     * @param destination The destination ingredient storage.
+     * @param destinationSlot The destination slot, used if the destination slot ranges are null.
+     * @param destinationSlots The destination slot ranges, can be null.
+     * @param ingredientPredicate Only instances matching this predicate will be moved.
+     * @param movementPosition The position at which the movement is happening.
+     *                         This is used for handling {@link InconsistentIngredientInsertionException}.
+     * @param simulate If the transfer should be simulated.
+     * @param sourceReinsertable If the source is known to accept instances that were extracted from it back.
+     * @param <T> The instance type.
+     * @param <M> The matching condition parameter.
+     * @return The moved instance.
+     * @throws EvaluationException If illegal movement occured and further movement should stop.
+     */
+    @Nonnull
+    public static <T, M> T moveSingle(IIngredientComponentStorage<T, M> source, int sourceSlot, @Nullable SlotRanges sourceSlots,
+                                      IIngredientComponentStorage<T, M> destination, int destinationSlot, @Nullable SlotRanges destinationSlots,
+                                      IngredientPredicate<T, M> ingredientPredicate, PartPos movementPosition,
+                                      boolean simulate, boolean sourceReinsertable) throws EvaluationException {
+        IIngredientMatcher<T, M> matcher = source.getComponent().getMatcher();
+        if (sourceSlots != null && source instanceof IIngredientComponentStorageSlotted) {
+            IIngredientComponentStorageSlotted<T, M> slottedSource = (IIngredientComponentStorageSlotted<T, M>) source;
+            int slotCount = slottedSource.getSlots();
+            for (int range = 0; range < sourceSlots.getRangeCount(); range++) {
+                int end = Math.min(sourceSlots.getEnd(range), slotCount - 1);
+                for (int slot = sourceSlots.getStart(range); slot <= end; slot++) {
+                    if (matcher.isEmpty(slottedSource.getSlotContents(slot))) {
+                        continue;
+                    }
+                    // Destination slot ranges are handled for each source slot
+                    T moved = moveSingle(source, slot, null, destination, destinationSlot, destinationSlots,
+                            ingredientPredicate, movementPosition, simulate, sourceReinsertable);
+                    if (!matcher.isEmpty(moved)) {
+                        return moved;
+                    }
+                }
+            }
+            return matcher.getEmptyInstance();
+        }
+        if (destinationSlots != null && destination instanceof IIngredientComponentStorageSlotted) {
+            int slotCount = ((IIngredientComponentStorageSlotted<T, M>) destination).getSlots();
+            if (sourceSlot >= 0 && source instanceof IIngredientComponentStorageSlotted) {
+                IIngredientComponentStorageSlotted<T, M> slottedSource = (IIngredientComponentStorageSlotted<T, M>) source;
+                if (sourceSlot < slottedSource.getSlots() && matcher.isEmpty(slottedSource.getSlotContents(sourceSlot))) {
+                    return matcher.getEmptyInstance();
+                }
+            }
+            for (int range = 0; range < destinationSlots.getRangeCount(); range++) {
+                int end = Math.min(destinationSlots.getEnd(range), slotCount - 1);
+                for (int slot = destinationSlots.getStart(range); slot <= end; slot++) {
+                    T moved = moveSingle(source, sourceSlot, destination, slot, ingredientPredicate, movementPosition, simulate, sourceReinsertable);
+                    if (!matcher.isEmpty(moved)) {
+                        return moved;
+                    }
+                }
+            }
+            return matcher.getEmptyInstance();
+        }
+        return moveSingle(source, sourceSlot, destination, destinationSlot, ingredientPredicate, movementPosition, simulate, sourceReinsertable);
+    }
+
+    /**
+     * Check if a movement for a predicate without match flags can be planned as index lookups,
+     * which is the case for non-exact movements from any slot of a non-slotted source, such as a network channel,
+     * where the predicate can be expressed as {@link IngredientPredicate#getIndexPrototypes()}.
+     * @param source The source instance storage.
+     * @param sourceSlot The source slot.
+     * @param ingredientPredicate The movement predicate.
+     * @param <T> The instance type.
+     * @param <M> The matching condition parameter.
+     * @return If indexed movement is possible.
+     */
+    protected static <T, M> boolean canMoveIndexed(IIngredientComponentStorage<T, M> source, int sourceSlot,
+                                                   IngredientPredicate<T, M> ingredientPredicate) {
+        return sourceSlot == -1
+                && !ingredientPredicate.isExactQuantity()
+                && !(source instanceof IIngredientComponentStorageSlotted)
+                && ingredientPredicate.getIndexPrototypes() != null;
+    }
+
+    /**
+     * Move instances from source to destination by looking up each prototype of the predicate with its match flags,
+     * so that the cost scales with the number of prototypes instead of the number of instances in the source.
+     * @param source The source instance storage.
+     * @param destination The destination ingredient storage.
+     * @param destinationSlot The destination slot.
+     * @param ingredientPredicate The movement predicate.
+     * @param simulate If the transfer should be simulated.
+     * @param <T> The instance type.
+     * @param <M> The matching condition parameter.
+     * @return The moved instance.
+     * @throws InconsistentIngredientInsertionException If the source or destination is inconsistent.
+     */
+    protected static <T, M> T moveIndexed(IIngredientComponentStorage<T, M> source,
+                                          IIngredientComponentStorage<T, M> destination, int destinationSlot,
+                                          IngredientPredicate<T, M> ingredientPredicate,
+                                          boolean simulate) throws InconsistentIngredientInsertionException {
+        IIngredientMatcher<T, M> matcher = source.getComponent().getMatcher();
+        M matchFlags = ingredientPredicate.getIndexMatchFlags();
+        for (T prototype : ingredientPredicate.getIndexPrototypes()) {
+            T moved = IngredientStorageHelpers.moveIngredientsSlotted(source, -1, destination, destinationSlot,
+                    prototype, matchFlags, simulate);
+            if (!matcher.isEmpty(moved)) {
+                return moved;
+            }
+        }
+        return matcher.getEmptyInstance();
+    }
+
+    /**
+     * Check if a movement can be done optimistically,
+     * which is the case for non-exact movements with match flags between non-slotted storages,
+     * if the source is known to accept instances back.
+     * @param sourceSlot The source slot.
+     * @param destinationSlot The destination slot.
+     * @param ingredientPredicate The movement predicate.
+     * @param <T> The instance type.
+     * @param <M> The matching condition parameter.
+     * @return If optimistic movement is possible.
+     */
+    protected static <T, M> boolean canMoveOptimistically(int sourceSlot, int destinationSlot,
+                                                          IngredientPredicate<T, M> ingredientPredicate) {
+        return GeneralConfig.optimisticIngredientMovement
+                && sourceSlot < 0 && destinationSlot < 0
+                && ingredientPredicate.hasMatchFlags()
+                && !ingredientPredicate.isExactQuantity();
+    }
+
+    /**
+     * Move instances from source to destination without simulating first.
+     * Instances are extracted from the source and inserted into the destination,
+     * and whatever the destination did not accept is inserted back into the source.
+     * @param source The source instance storage.
+     * @param destination The destination ingredient storage.
+     * @param ingredientPredicate Only instances matching this predicate will be moved.
+     * @param movementPosition The position at which the movement is happening.
+     * @param <T> The instance type.
+     * @param <M> The matching condition parameter.
+     * @return The moved instance.
+     * @throws EvaluationException If the source did not accept instances back, and they were lost or ejected.
+     */
+    @Nonnull
+    protected static <T, M> T moveOptimistically(IIngredientComponentStorage<T, M> source,
+                                                 IIngredientComponentStorage<T, M> destination,
+                                                 IngredientPredicate<T, M> ingredientPredicate,
+                                                 PartPos movementPosition) throws EvaluationException {
+        IIngredientMatcher<T, M> matcher = source.getComponent().getMatcher();
+        T extracted = source.extract(ingredientPredicate.getInstance(), ingredientPredicate.getMatchFlags(), false);
+        if (matcher.isEmpty(extracted)) {
+            return matcher.getEmptyInstance();
+        }
+        T remainder = destination.insert(extracted, false);
+        if (matcher.isEmpty(remainder)) {
+            return extracted;
+        }
+
+        // Roll back what was not accepted
+        T lost = source.insert(remainder, false);
+        if (!matcher.isEmpty(lost)) {
+            throw createInconsistentMovementException(source.getComponent(), lost, movementPosition);
+        }
+        long movedQuantity = matcher.getQuantity(extracted) - matcher.getQuantity(remainder);
+        return movedQuantity <= 0 ? matcher.getEmptyInstance() : matcher.withQuantity(extracted, movedQuantity);
+    }
+
+    /**
+     * Create an exception for a movement that failed halfway, because storages behaved inconsistently.
+     * If we are moving items, they are ejected in the world, otherwise they go lost.
+     * @param ingredientComponent The ingredient component.
+     * @param remainder The instance that could not be moved.
+     * @param movementPosition The position at which the movement is happening.
+     * @param <T> The instance type.
+     * @param <M> The matching condition parameter.
+     * @return The exception to throw.
+     */
+    protected static <T, M> EvaluationException createInconsistentMovementException(IngredientComponent<T, M> ingredientComponent,
+                                                                                    T remainder, PartPos movementPosition) {
+        if (GeneralConfig.ejectItemsOnInconsistentSimulationMovement && ingredientComponent.equals(IngredientComponent.ITEMSTACK)) {
+            ItemStackHelpers.spawnItemStack(movementPosition.getPos().getLevel(true), movementPosition.getPos().getBlockPos(), (ItemStack) remainder);
+            return new EvaluationException(new TextComponent("Ingredient movement failed " +
+                    "due to inconsistent insertion behaviour by destination in simulation " +
+                    "and non-simulation mode. This can be caused by invalid network setups. " +
+                    "Ejected failed item in world."));
+        }
+        return new EvaluationException(new TextComponent("Ingredient movement failed " +
+                "due to inconsistent insertion behaviour by destination in simulation " +
+                "and non-simulation mode. This can be caused by invalid network setups. Lost ")
+                    .append(ingredientComponent.getMatcher().getDisplayName(remainder)));
+    }
+
     /**
      * Move ingredients from source to destination.
      * @param network The network in which the movement is happening.
@@ -109,6 +348,7 @@ public class TunnelHelpers {
      * @param movementPosition The position at which the movement is happening.
      *                         This is used for handling {@link InconsistentIngredientInsertionException}.
      * @param craftIfFailed If the exact ingredient from ingredientPredicate should be crafted if transfer failed.
+     * @param fromNetwork If the source is the network channel, otherwise the destination is.
      * @param <T> The instance type.
      * @param <M> The matching condition parameter.
      * @return The moved ingredientstack.
@@ -120,9 +360,14 @@ public class TunnelHelpers {
                                                     IIngredientComponentStorage<T, M> source, int sourceSlot,
                                                     IIngredientComponentStorage<T, M> destination, int destinationSlot,
                                                     IngredientPredicate<T, M> ingredientPredicate, PartPos movementPosition,
-                                                    boolean craftIfFailed) throws EvaluationException {
+                                                    boolean craftIfFailed, boolean fromNetwork) throws EvaluationException {
         IIngredientMatcher<T, M> matcher = source.getComponent().getMatcher();
 
+        // Don't do anything if we are sleeping for this connection
+        if (TunnelSleepHelpers.isSleeping(connection)) {
+            return matcher.getEmptyInstance();
+        }
+
         // Don't craft if we still have a running crafting job for the instance.
         if (craftIfFailed && isCrafting(network, ingredientsNetwork, channel,
                 ingredientPredicate.getInstance(), ingredientPredicate.getMatchFlags())) {
@@ -134,58 +379,316 @@ public class TunnelHelpers {
             return matcher.getEmptyInstance();
         }
 
-        // Don't do anything if we are sleeping for this connection
-        if (CACHE_INV_CHECKS.getIfPresent(connection) != null) {
+        // Don't move if the channel throughput is exhausted
+        ChannelThroughputGovernor governor = ChannelThroughputGovernor.get(ingredientsNetwork);
+        ChannelThroughputGovernor.Bucket bucket = governor != null ? governor.getBucket(channel) : null;
+        if (bucket != null && !bucket.canDraw(connection)) {
             return matcher.getEmptyInstance();
         }
 
-        // Do the actual movement
-        T moved = moveSingle(source, sourceSlot, destination, destinationSlot, ingredientPredicate, movementPosition, false);
+        // Do the actual movement, while recording the network positions it visits
+        PartPosIteratorHandlerRecording recording = PartPosIteratorHandlerRecording.start(ingredientsNetwork);
+        T moved;
+        try {
+            moved = moveSingle(source, sourceSlot, destination, destinationSlot, ingredientPredicate, movementPosition, false, fromNetwork);
+        } finally {
+            recording.stop();
+        }
+        if (bucket != null) {
+            bucket.draw(connection, matcher.getQuantity(moved));
+        }
+        if (!matcher.isEmpty(moved)) {
+            ChannelIndexDeltas<T> deltas = ChannelIndexDeltas.get(ingredientsNetwork);
+            if (deltas != null) {
+                deltas.record(channel, moved, fromNetwork);
+            }
+            if (!fromNetwork) {
+                IngredientPredicateChannelMatches.invalidate(ingredientsNetwork, channel);
+            }
+        }
         if (matcher.isEmpty(moved)) {
             // Mark this connection as 'sleeping' if nothing was moved
-            CACHE_INV_CHECKS.put(connection, true);
+            TunnelSleepHelpers.sleep(connection);
+        } else {
+            wakeAfterMovement(network, channel, connection);
         }
 
-        // Schedule a new observation for the network, as its contents may have changed
-        ingredientsNetwork.scheduleObservation();
+        // Schedule a new observation for the visited positions, as their contents may have changed
+        recording.scheduleObservation(channel, !matcher.isEmpty(moved));
 
         // Craft if we moved nothing, and the flag is enabled.
         if (craftIfFailed && matcher.isEmpty(moved)) {
-            // If we don't have to move exact instances,
-            // only request the crafting of 1.
-            T craftInstance = ingredientPredicate.getInstance();
-            if (!ingredientPredicate.isExactQuantity()) {
-                craftInstance = matcher.withQuantity(craftInstance, 1);
-            }
+            craftAfterFailedMovement(network, ingredientsNetwork, channel, destination, destinationSlot, ingredientPredicate);
+        }
 
-            // Don't allow crafting jobs to be started if we detect a case where movement failed,
-            // but the required ingredient is in fact present in the network.
-            // This is to avoid cases where crafting jobs would be started before a previous movement was observed,
-            // and the crafting job output thereby not being detected upon the next observement.
-            IIngredientPositionsIndex<T, M> index = ingredientsNetwork.getChannelIndex(channel);
-            if (index.getQuantity(ingredientPredicate.getInstance()) >= matcher.getQuantity(craftInstance)) {
-                return moved;
-            }
+        return moved;
+    }
+
+    /**
+     * Move ingredients from source to destination in consecutive movements,
+     * until nothing can be moved anymore or the maximum number of movements is reached.
+     * Sleep checks, network observation and crafting are only handled once for the whole batch.
+     * @param network The network in which the movement is happening.
+     * @param ingredientsNetwork The ingredients network in which the movement is happening.
+     * @param channel The channel.
+     * @param connection The connection object.
+     * @param source The source ingredient storage.
+     * @param sourceSlot The source slot.
+     * @param destination The destination ingredient storage.
+     * @param destinationSlot The destination slot.
+     * @param ingredientPredicate Only ingredientstack matching this predicate will be moved.
+     * @param movementPosition The position at which the movement is happening.
+     *                         This is used for handling {@link InconsistentIngredientInsertionException}.
+     * @param craftIfFailed If the exact ingredient from ingredientPredicate should be crafted if transfer failed.
+     * @param maxMovements The maximum number of movements.
+     * @param fromNetwork If the source is the network channel, otherwise the destination is.
+     * @param <T> The instance type.
+     * @param <M> The matching condition parameter.
+     * @return The number of non-empty movements that were done.
+     * @throws EvaluationException If illegal movement occured and further movement should stop.
+     */
+    public static <T, M> int moveBulkStateOptimized(INetwork network, IPositionedAddonsNetworkIngredients<T, M> ingredientsNetwork,
+                                                    int channel, ITunnelConnection connection,
+                                                    IIngredientComponentStorage<T, M> source, int sourceSlot,
+                                                    IIngredientComponentStorage<T, M> destination, int destinationSlot,
+                                                    IngredientPredicate<T, M> ingredientPredicate, PartPos movementPosition,
+                                                    boolean craftIfFailed, int maxMovements, boolean fromNetwork) throws EvaluationException {
+        return moveBulkStateOptimized(network, ingredientsNetwork, channel, connection, source, sourceSlot, null,
+                destination, destinationSlot, null, ingredientPredicate, movementPosition, craftIfFailed, maxMovements, fromNetwork);
+    }
+
+    /**
+     * Move ingredients from source to destination in consecutive movements,
+     * until nothing can be moved anymore or the maximum number of movements is reached,
+     * where source or destination can be restricted to a set of slot ranges.
+     * @param network The network in which the movement is happening.
+     * @param ingredientsNetwork The ingredients network in which the movement is happening.
+     * @param channel The channel.
+     * @param connection The connection object.
+     * @param source The source ingredient storage.
+     * @param sourceSlot The source slot, used if the source slot ranges are null.
+     * @param sourceSlots The source slot ranges, can be null.
+     * @param destination The destination ingredient storage.
+     * @param destinationSlot The destination slot, used if the destination slot ranges are null.
+     * @param destinationSlots The destination slot ranges, can be null.
+     * @param ingredientPredicate Only ingredientstack matching this predicate will be moved.
+     * @param movementPosition The position at which the movement is happening.
+     *                         This is used for handling {@link InconsistentIngredientInsertionException}.
+     * @param craftIfFailed If the exact ingredient from ingredientPredicate should be crafted if transfer failed.
+     * @param maxMovements The maximum number of movements.
+     * @param fromNetwork If the source is the network channel, otherwise the destination is.
+     * @param <T> The instance type.
+     * @param <M> The matching condition parameter.
+     * @return The number of non-empty movements that were done.
+     * @throws EvaluationException If illegal movement occured and further movement should stop.
+     */
+    public static <T, M> int moveBulkStateOptimized(INetwork network, IPositionedAddonsNetworkIngredients<T, M> ingredientsNetwork,
+                                                    int channel, ITunnelConnection connection,
+                                                    IIngredientComponentStorage<T, M> source, int sourceSlot, @Nullable SlotRanges sourceSlots,
+                                                    IIngredientComponentStorage<T, M> destination, int destinationSlot, @Nullable SlotRanges destinationSlots,
+                                                    IngredientPredicate<T, M> ingredientPredicate, PartPos movementPosition,
+                                                    boolean craftIfFailed, int maxMovements, boolean fromNetwork) throws EvaluationException {
+        IIngredientMatcher<T, M> matcher = source.getComponent().getMatcher();
+
+        // Don't do anything if we are sleeping for this connection
+        if (TunnelSleepHelpers.isSleeping(connection)) {
+            return 0;
+        }
+
+        // Don't craft if we still have a running crafting job for the instance.
+        if (craftIfFailed && isCrafting(network, ingredientsNetwork, channel,
+                ingredientPredicate.getInstance(), ingredientPredicate.getMatchFlags())) {
+            return 0;
+        }
 
-            // Only craft if the target accepts the crafting output completely
-            boolean targetAcceptsCraftingResult;
-            if (destinationSlot >= 0) {
-                targetAcceptsCraftingResult = destination instanceof IIngredientComponentStorageSlotted
-                        && matcher.isEmpty(((IIngredientComponentStorageSlotted<T, M>) destination)
-                        .insert(destinationSlot, craftInstance, true));
-            } else {
-                targetAcceptsCraftingResult = matcher.isEmpty(destination.insert(craftInstance, true));
+        // Don't do any expensive transfers if the to-be-moved stack is empty
+        if (ingredientPredicate.isEmpty()) {
+            return 0;
+        }
+
+        // Don't move if the channel throughput is exhausted
+        ChannelThroughputGovernor governor = ChannelThroughputGovernor.get(ingredientsNetwork);
+        ChannelThroughputGovernor.Bucket bucket = governor != null ? governor.getBucket(channel) : null;
+        if (bucket != null && !bucket.canDraw(connection)) {
+            return 0;
+        }
+
+        // Keep moving until the source, destination or channel throughput is exhausted,
+        // while recording the network positions that are visited
+        ChannelIndexDeltas<T> deltas = ChannelIndexDeltas.get(ingredientsNetwork);
+        PartPosIteratorHandlerRecording recording = PartPosIteratorHandlerRecording.start(ingredientsNetwork);
+        int movements = 0;
+        T moved;
+        try {
+            do {
+                moved = moveSingleHinted(connection, source, sourceSlot, sourceSlots, destination, destinationSlot, destinationSlots,
+                        ingredientPredicate, movementPosition, fromNetwork);
+                if (bucket != null) {
+                    bucket.draw(connection, matcher.getQuantity(moved));
+                }
+                if (deltas != null && !matcher.isEmpty(moved)) {
+                    deltas.record(channel, moved, fromNetwork);
+                }
+            } while (!matcher.isEmpty(moved) && ++movements < maxMovements && (bucket == null || bucket.canDraw(connection)));
+        } finally {
+            recording.stop();
+        }
+        if (movements == 0) {
+            // Mark this connection as 'sleeping' if nothing was moved
+            TunnelSleepHelpers.sleep(connection);
+        } else {
+            wakeAfterMovement(network, channel, connection);
+            if (!fromNetwork) {
+                // Inserted instances may match predicates that did not match anything before
+                IngredientPredicateChannelMatches.invalidate(ingredientsNetwork, channel);
             }
+        }
+
+        // Schedule a new observation for the visited positions, as their contents may have changed
+        recording.scheduleObservation(channel, movements > 0);
+
+        // Craft if we moved nothing, and the flag is enabled.
+        if (craftIfFailed && movements == 0) {
+            craftAfterFailedMovement(network, ingredientsNetwork, channel, destination, destinationSlot, ingredientPredicate);
+        }
 
-            if (targetAcceptsCraftingResult) {
-                requestCrafting(network, ingredientsNetwork, channel,
-                        craftInstance, ingredientPredicate.getMatchFlags());
+        return movements;
+    }
+
+    /**
+     * Move instances from source to destination,
+     * where the source slots in which the given connection recently found something are probed first.
+     * This only applies to non-exact movements from any slot of a slotted source,
+     * other movements are delegated to
+     * {@link #moveSingle(IIngredientComponentStorage, int, SlotRanges, IIngredientComponentStorage, int, SlotRanges, IngredientPredicate, PartPos, boolean)}.
+     * If no hinted slot contains anything that can be moved, a single movement over the whole source is done,
+     * and a slot that still contains the moved instance becomes the most recent hint.
+     * @param connection The connection object.
+     * @param source The source instance storage.
+     * @param sourceSlot The source slot, used if the source slot ranges are null.
+     * @param sourceSlots The source slot ranges, can be null.
+     * @param destination The destination ingredient storage.
+     * @param destinationSlot The destination slot, used if the destination slot ranges are null.
+     * @param destinationSlots The destination slot ranges, can be null.
+     * @param ingredientPredicate Only instances matching this predicate will be moved.
+     * @param movementPosition The position at which the movement is happening.
+     *                         This is used for handling {@link InconsistentIngredientInsertionException}.
+     * @param sourceReinsertable If the source is known to accept instances that were extracted from it back.
+     * @param <T> The instance type.
+     * @param <M> The matching condition parameter.
+     * @return The moved instance.
+     * @throws EvaluationException If illegal movement occured and further movement should stop.
+     */
+    @Nonnull
+    protected static <T, M> T moveSingleHinted(ITunnelConnection connection,
+                                               IIngredientComponentStorage<T, M> source, int sourceSlot, @Nullable SlotRanges sourceSlots,
+                                               IIngredientComponentStorage<T, M> destination, int destinationSlot, @Nullable SlotRanges destinationSlots,
+                                               IngredientPredicate<T, M> ingredientPredicate, PartPos movementPosition,
+                                               boolean sourceReinsertable) throws EvaluationException {
+        if (sourceSlot != -1 || sourceSlots != null || ingredientPredicate.isExactQuantity()
+                || !(source instanceof IIngredientComponentStorageSlotted)) {
+            return moveSingle(source, sourceSlot, sourceSlots, destination, destinationSlot, destinationSlots,
+                    ingredientPredicate, movementPosition, false, sourceReinsertable);
+        }
+        IIngredientComponentStorageSlotted<T, M> slottedSource = (IIngredientComponentStorageSlotted<T, M>) source;
+        IIngredientMatcher<T, M> matcher = source.getComponent().getMatcher();
+        int slotCount = slottedSource.getSlots();
+
+        // Probe the hinted slots first
+        SlotHints hints = SlotHints.get(connection);
+        for (int i = 0; i < SlotHints.SIZE; i++) {
+            int slot = hints.getSlot(i);
+            if (slot >= 0 && slot < slotCount && !matcher.isEmpty(slottedSource.getSlotContents(slot))) {
+                T moved = moveSingle(source, slot, null, destination, destinationSlot, destinationSlots,
+                        ingredientPredicate, movementPosition, false, sourceReinsertable);
+                if (!matcher.isEmpty(moved)) {
+                    hints.onFound(slot);
+                    return moved;
+                }
             }
         }
 
+        // Fallback to a single movement over the whole storage,
+        // and remember a slot that still contains the moved instance
+        T moved = moveSingle(source, sourceSlot, null, destination, destinationSlot, destinationSlots,
+                ingredientPredicate, movementPosition, false, sourceReinsertable);
+        if (!matcher.isEmpty(moved)) {
+            M matchFlags = matcher.getExactMatchNoQuantityCondition();
+            for (int slot = 0; slot < slotCount; slot++) {
+                if (matcher.matches(moved, slottedSource.getSlotContents(slot), matchFlags)) {
+                    hints.onFound(slot);
+                    break;
+                }
+            }
+        }
         return moved;
     }
 
+    /**
+     * Reset the backoff of the given connection after a successful movement,
+     * and wake up the sleeping connections that may be affected by it,
+     * being the ones in the same network channel, and the ones targeting the same position.
+     * @param network The network in which the movement happened.
+     * @param channel The channel.
+     * @param connection The connection over which the movement happened.
+     */
+    protected static void wakeAfterMovement(INetwork network, int channel, ITunnelConnection connection) {
+        TunnelSleepHelpers.onMoved(connection);
+        TunnelSleepHelpers.wakeChannel(network, channel);
+        if (connection instanceof TunnelConnectionPositionedNetwork) {
+            TunnelSleepHelpers.wakePosition(((TunnelConnectionPositionedNetwork) connection).getPos().getPos());
+        }
+    }
+
+    /**
+     * Request crafting of the instance from the given predicate after a movement failed,
+     * if it is not present in the network and the destination will accept it.
+     * @param network The network to craft in.
+     * @param ingredientsNetwork The ingredients network.
+     * @param channel The channel.
+     * @param destination The destination ingredient storage.
+     * @param destinationSlot The destination slot.
+     * @param ingredientPredicate The predicate of the failed movement.
+     * @param <T> The instance type.
+     * @param <M> The matching condition parameter.
+     */
+    protected static <T, M> void craftAfterFailedMovement(INetwork network, IPositionedAddonsNetworkIngredients<T, M> ingredientsNetwork,
+                                                          int channel, IIngredientComponentStorage<T, M> destination, int destinationSlot,
+                                                          IngredientPredicate<T, M> ingredientPredicate) {
+        IIngredientMatcher<T, M> matcher = destination.getComponent().getMatcher();
+
+        // If we don't have to move exact instances,
+        // only request the crafting of 1.
+        T craftInstance = ingredientPredicate.getInstance();
+        if (!ingredientPredicate.isExactQuantity()) {
+            craftInstance = matcher.withQuantity(craftInstance, 1);
+        }
+
+        // Don't allow crafting jobs to be started if we detect a case where movement failed,
+        // but the required ingredient is in fact present in the network.
+        // This is to avoid cases where crafting jobs would be started before a previous movement was observed,
+        // and the crafting job output thereby not being detected upon the next observement.
+        // Movements that were not observed yet are taken into account as well.
+        if (ChannelIndexDeltas.getQuantity(ingredientsNetwork, channel, ingredientPredicate.getInstance()) >= matcher.getQuantity(craftInstance)) {
+            return;
+        }
+
+        // Only craft if the target accepts the crafting output completely
+        boolean targetAcceptsCraftingResult;
+        if (destinationSlot >= 0) {
+            targetAcceptsCraftingResult = destination instanceof IIngredientComponentStorageSlotted
+                    && matcher.isEmpty(((IIngredientComponentStorageSlotted<T, M>) destination)
+                    .insert(destinationSlot, craftInstance, true));
+        } else {
+            targetAcceptsCraftingResult = matcher.isEmpty(destination.insert(craftInstance, true));
+        }
+
+        if (targetAcceptsCraftingResult) {
+            requestCrafting(network, ingredientsNetwork, channel,
+                    craftInstance, ingredientPredicate.getMatchFlags());
+        }
+    }
+
     /**
      * Start a crafting job for the given instance.
      * @param network The network to craft in.
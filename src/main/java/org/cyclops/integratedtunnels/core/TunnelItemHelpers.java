@@ -30,9 +30,12 @@ import org.cyclops.integratedtunnels.core.predicate.IngredientPredicateBlockList
 import org.cyclops.integratedtunnels.core.predicate.IngredientPredicateItemStackList;
 import org.cyclops.integratedtunnels.core.predicate.IngredientPredicateItemStackNbt;
 import org.cyclops.integratedtunnels.core.predicate.IngredientPredicateItemStackOperator;
+import org.cyclops.integratedtunnels.core.predicate.IngredientPredicatePool;
 import org.cyclops.integratedtunnels.part.aspect.ITunnelConnection;
 
 import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
@@ -59,24 +62,41 @@ public class TunnelItemHelpers {
         }
     };
 
+    private static final Object MATCH_ALL_KEY = new Object();
+
     public static IngredientPredicate<ItemStack, Integer> matchAll(final int amount, final boolean exactAmount) {
-        return new IngredientPredicate<ItemStack, Integer>(IngredientComponent.ITEMSTACK, new ItemStack(Items.APPLE, amount), exactAmount ? ItemMatch.STACKSIZE : ItemMatch.ANY, false, false, amount, exactAmount) {
+        return IngredientPredicatePool.get(MATCH_ALL_KEY, IngredientPredicatePool.parameters(amount, exactAmount),
+                () -> new IngredientPredicate<ItemStack, Integer>(IngredientComponent.ITEMSTACK, new ItemStack(Items.APPLE, amount), exactAmount ? ItemMatch.STACKSIZE : ItemMatch.ANY, false, false, amount, exactAmount) {
             @Override
             public boolean test(ItemStack input) {
                 return true;
             }
-        };
+        });
     }
 
     public static IngredientPredicate<ItemStack, Integer> matchItemStack(final ItemStack itemStack, final boolean checkItem,
                                                                          final boolean checkStackSize,
                                                                          final boolean checkNbt, final boolean blacklist,
                                                                          final boolean exactAmount) {
+        return IngredientPredicatePool.get(itemStack, IngredientPredicatePool.parameters(0, checkItem, checkStackSize, checkNbt, blacklist, exactAmount),
+                () -> matchItemStackUnpooled(itemStack, checkItem, checkStackSize, checkNbt, blacklist, exactAmount));
+    }
+
+    /**
+     * Create a predicate like {@link #matchItemStack(ItemStack, boolean, boolean, boolean, boolean, boolean)},
+     * without going through the predicate pool.
+     * This is meant for prototypes that are newly created on every call, which would never be found in the pool.
+     */
+    public static IngredientPredicate<ItemStack, Integer> matchItemStackUnpooled(final ItemStack itemStack, final boolean checkItem,
+                                                                                 final boolean checkStackSize,
+                                                                                 final boolean checkNbt, final boolean blacklist,
+                                                                                 final boolean exactAmount) {
         int matchFlags = ItemMatch.ANY;
         if (checkItem)      matchFlags = matchFlags | ItemMatch.ITEM;
         if (checkNbt)       matchFlags = matchFlags | ItemMatch.TAG;
         if (checkStackSize) matchFlags = matchFlags | ItemMatch.STACKSIZE;
-        return new IngredientPredicate<ItemStack, Integer>(IngredientComponent.ITEMSTACK, itemStack.copy(), matchFlags, blacklist, itemStack.isEmpty() && !blacklist,
+        final int finalMatchFlags = matchFlags;
+        return new IngredientPredicate<ItemStack, Integer>(IngredientComponent.ITEMSTACK, itemStack.copy(), finalMatchFlags, blacklist, itemStack.isEmpty() && !blacklist,
                 itemStack.getCount(), exactAmount) {
             @Override
             public boolean test(@Nullable ItemStack input) {
@@ -86,6 +106,17 @@ public class TunnelItemHelpers {
                 }
                 return result;
             }
+
+            @Nullable
+            @Override
+            public Collection<ItemStack> getExcludedPrototypes() {
+                return blacklist && !checkStackSize ? Collections.singletonList(getInstance()) : null;
+            }
+
+            @Override
+            public Integer getIndexMatchFlags() {
+                return ItemMatch.ITEM | (checkNbt ? ItemMatch.TAG : ItemMatch.ANY);
+            }
         };
     }
 
@@ -93,30 +124,39 @@ public class TunnelItemHelpers {
                                                                           final boolean checkItem, final boolean checkStackSize,
                                                                           final boolean checkNbt,
                                                                           final boolean blacklist, final int amount, final boolean exactAmount) {
-        return new IngredientPredicateItemStackList(blacklist, amount, exactAmount, itemStacks, checkStackSize, checkItem, checkNbt);
+        return IngredientPredicatePool.get(itemStacks, IngredientPredicatePool.parameters(amount, checkItem, checkStackSize, checkNbt, blacklist, exactAmount),
+                () -> new IngredientPredicateItemStackList(blacklist, amount, exactAmount, itemStacks, checkStackSize, checkItem, checkNbt));
     }
 
     public static IngredientPredicate<ItemStack, Integer> matchPredicateItem(final PartTarget partTarget, final IOperator predicate,
                                                                              final int amount, final boolean exactAmount) {
-        return new IngredientPredicateItemStackOperator(amount, exactAmount, predicate, partTarget);
+        return matchPredicateItem(partTarget, predicate, amount, exactAmount, true);
+    }
+
+    public static IngredientPredicate<ItemStack, Integer> matchPredicateItem(final PartTarget partTarget, final IOperator predicate,
+                                                                             final int amount, final boolean exactAmount,
+                                                                             final boolean cacheResults) {
+        return IngredientPredicatePool.intern(new IngredientPredicateItemStackOperator(amount, exactAmount, predicate, partTarget, cacheResults));
     }
 
     public static IngredientPredicate<ItemStack, Integer> matchBlocks(final IValueTypeListProxy<ValueObjectTypeBlock, ValueObjectTypeBlock.ValueBlock> blocks,
                                                                       final boolean checkItem, final boolean checkStackSize,
                                                                       final boolean checkNbt,
                                                                       final boolean blacklist, final int amount, final boolean exactAmount) {
-        return new IngredientPredicateBlockList(blacklist, amount, exactAmount, blocks, checkStackSize, checkItem, checkNbt);
+        return IngredientPredicatePool.get(blocks, IngredientPredicatePool.parameters(amount, checkItem, checkStackSize, checkNbt, blacklist, exactAmount),
+                () -> new IngredientPredicateBlockList(blacklist, amount, exactAmount, blocks, checkStackSize, checkItem, checkNbt));
     }
 
     public static IngredientPredicate<ItemStack, Integer> matchPredicateBlock(final PartTarget partTarget, final IOperator predicate,
                                                                               final int amount, final boolean exactAmount) {
-        return new IngredientPredicateBlockOperator(amount, exactAmount, predicate, partTarget);
+        return IngredientPredicatePool.intern(new IngredientPredicateBlockOperator(amount, exactAmount, predicate, partTarget));
     }
 
     public static IngredientPredicate<ItemStack, Integer> matchNbt(final Optional<Tag> tag, final boolean subset, final boolean superset,
                                                                    final boolean requireNbt, final boolean recursive, final boolean blacklist,
                                                                    final int amount, final boolean exactAmount) {
-        return new IngredientPredicateItemStackNbt(blacklist, amount, exactAmount, requireNbt, subset, tag, recursive, superset);
+        return IngredientPredicatePool.get(tag, IngredientPredicatePool.parameters(amount, subset, superset, requireNbt, recursive, blacklist, exactAmount),
+                () -> new IngredientPredicateItemStackNbt(blacklist, amount, exactAmount, requireNbt, subset, tag, recursive, superset));
     }
 
     public static boolean areItemStackEqual(ItemStack stackA, ItemStack stackB,
@@ -156,6 +196,10 @@ public class TunnelItemHelpers {
                                        Level world, BlockPos pos, Direction side,
                                        IngredientPredicate<ItemStack, Integer> itemStackMatcher, InteractionHand hand,
                                        boolean blockUpdate, boolean ignoreReplacable, boolean craftIfFailed) throws EvaluationException {
+        if (!TunnelSleepHelpers.isTicking(world, pos)) {
+            TunnelSleepHelpers.park(connection, world, pos);
+            return null;
+        }
         BlockState destBlockState = world.getBlockState(pos);
         final Material destMaterial = destBlockState.getMaterial();
         final boolean isDestNonSolid = !destMaterial.isSolid();
@@ -168,7 +212,7 @@ public class TunnelItemHelpers {
         IIngredientComponentStorage<ItemStack, Integer> destinationBlock = new ItemStorageBlockWrapper(
                 true, (ServerLevel) world, pos, side, hand, blockUpdate, 0, false, ignoreReplacable, true);
         return TunnelHelpers.moveSingleStateOptimized(network, ingredientsNetwork, channel, connection, source,
-                -1, destinationBlock, -1, itemStackMatcher, PartPos.of(world, pos, side), craftIfFailed);
+                -1, destinationBlock, -1, itemStackMatcher, PartPos.of(world, pos, side), craftIfFailed, true);
     }
 
     /**
@@ -197,6 +241,10 @@ public class TunnelItemHelpers {
                                               IngredientPredicate<ItemStack, Integer> itemStackMatcher, InteractionHand hand, boolean blockUpdate,
                                               boolean ignoreReplacable, int fortune, boolean silkTouch,
                                               boolean breakOnNoDrops) throws EvaluationException {
+        if (!TunnelSleepHelpers.isTicking(world, pos)) {
+            TunnelSleepHelpers.park(connection, world, pos);
+            return null;
+        }
         BlockState destBlockState = world.getBlockState(pos);
         final Material destMaterial = destBlockState.getMaterial();
         final boolean isDestReplaceable = destBlockState.canBeReplaced(TunnelHelpers.createBlockItemUseContext(world, null, pos, side, hand));
@@ -210,7 +258,7 @@ public class TunnelItemHelpers {
         List<ItemStack> itemStacks = Lists.newArrayList();
         ItemStack itemStack;
         while (!(itemStack = TunnelHelpers.moveSingleStateOptimized(network, ingredientsNetwork, channel, connection, sourceBlock, -1,
-                destination, -1, itemStackMatcher, PartPos.of(world, pos, side), false)).isEmpty()) {
+                destination, -1, itemStackMatcher, PartPos.of(world, pos, side), false, false)).isEmpty()) {
             itemStacks.add(itemStack);
         }
 
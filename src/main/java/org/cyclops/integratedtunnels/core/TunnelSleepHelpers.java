@@ -0,0 +1,270 @@
+package org.cyclops.integratedtunnels.core;
+
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Multimap;
+import com.google.common.collect.Sets;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+import org.cyclops.cyclopscore.datastructure.DimPos;
+import org.cyclops.integrateddynamics.api.network.INetwork;
+import org.cyclops.integratedtunnels.GeneralConfig;
+import org.cyclops.integratedtunnels.part.aspect.ITunnelConnection;
+import org.cyclops.integratedtunnels.part.aspect.TunnelConnectionPositionedNetwork;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Helpers for putting tunnel connections to sleep after they failed to move anything,
+ * and for waking them up again when something changed at their target or in their network channel.
+ *
+ * Connections that keep failing sleep exponentially longer, up to a configured maximum.
+ * Sleep durations are counted in server ticks, so they remain correct when the server is lagging.
+ *
+ * Connections of which the target is not in a ticking chunk are parked until that chunk is loaded.
+ * @author rubensworks
+ */
+public class TunnelSleepHelpers {
+
+    private static final int WILDCARD_CHANNEL = -1;
+    private static final int MAX_BACKOFF_LEVEL = 16;
+
+    private static final Multimap<DimPos, TunnelConnectionPositionedNetwork> SLEEPING_POSITIONS = HashMultimap.create();
+    private static final Map<INetwork, Multimap<Integer, TunnelConnectionPositionedNetwork>> SLEEPING_CHANNELS = Maps.newIdentityHashMap();
+    private static final Multimap<DimPos, ITunnelConnection> PARKED_CHUNKS = HashMultimap.create();
+    private static final Map<ITunnelConnection, DimPos> PARKED_CONNECTIONS = Maps.newHashMap();
+    private static final Object2LongOpenHashMap<ITunnelConnection> SLEEPING_UNTIL = new Object2LongOpenHashMap<>();
+    private static final TimingWheel<ITunnelConnection> WAKE_WHEEL = new TimingWheel<>();
+    private static final Object2IntOpenHashMap<ITunnelConnection> BACKOFF_LEVELS = new Object2IntOpenHashMap<>();
+    private static final Set<ITunnelConnection> WOKEN_SINCE_PRUNE = Sets.newHashSet();
+    private static long nextPruneTick = 0;
+
+    /**
+     * @return The current server tick, as counted since the server started.
+     */
+    public static long getTick() {
+        return WAKE_WHEEL.getTick();
+    }
+
+    /**
+     * @param connection A connection.
+     * @return If the given connection is sleeping.
+     */
+    public static boolean isSleeping(ITunnelConnection connection) {
+        return SLEEPING_UNTIL.containsKey(connection);
+    }
+
+    /**
+     * Put the given connection to sleep.
+     * It will wake up after a timeout, or earlier when a change is detected at its target or network channel.
+     * Each consecutive call without a {@link #onMoved(ITunnelConnection)} in between doubles the timeout.
+     * @param connection A connection.
+     */
+    public static void sleep(ITunnelConnection connection) {
+        int level = BACKOFF_LEVELS.getInt(connection);
+        if (level < MAX_BACKOFF_LEVEL) {
+            BACKOFF_LEVELS.put(connection, level + 1);
+        }
+        int sleepTicks = getSleepTicks(level);
+        if (sleepTicks <= 0) {
+            return;
+        }
+        long wakeTick = WAKE_WHEEL.getTick() + Math.min(sleepTicks, TimingWheel.MAX_DELAY);
+        SLEEPING_UNTIL.put(connection, wakeTick);
+        WAKE_WHEEL.schedule(connection, wakeTick);
+
+        if (connection instanceof TunnelConnectionPositionedNetwork) {
+            TunnelConnectionPositionedNetwork positionedConnection = (TunnelConnectionPositionedNetwork) connection;
+            SLEEPING_POSITIONS.put(positionedConnection.getPos().getPos(), positionedConnection);
+            SLEEPING_CHANNELS.computeIfAbsent(positionedConnection.getNetwork(), network -> HashMultimap.create())
+                    .put(positionedConnection.getChannel(), positionedConnection);
+        }
+    }
+
+    /**
+     * Check if the given target position is in a loaded chunk in which blocks are being ticked,
+     * without causing the chunk to be loaded.
+     * @param world A world.
+     * @param pos A position.
+     * @return If the position can be targeted.
+     */
+    public static boolean isTicking(Level world, BlockPos pos) {
+        if (!world.isLoaded(pos)) {
+            return false;
+        }
+        return !(world instanceof ServerLevel) || ((ServerLevel) world).shouldTickBlocksAt(ChunkPos.asLong(pos));
+    }
+
+    /**
+     * Park the given connection, because its target is not in a ticking chunk.
+     * It will wake up when that chunk is loaded, or after the maximum sleep timeout,
+     * as ticket changes do not always cause the chunk to be loaded again.
+     * This does not affect the backoff of the connection.
+     * @param connection A connection.
+     * @param world The target world.
+     * @param pos The target position.
+     */
+    public static void park(ITunnelConnection connection, Level world, BlockPos pos) {
+        if (isSleeping(connection)) {
+            return;
+        }
+        long wakeTick = WAKE_WHEEL.getTick() + Math.max(1, Math.min(GeneralConfig.inventoryUnchangedTickTimeoutMax, TimingWheel.MAX_DELAY));
+        SLEEPING_UNTIL.put(connection, wakeTick);
+        WAKE_WHEEL.schedule(connection, wakeTick);
+
+        DimPos chunk = getChunk(world, new ChunkPos(pos));
+        PARKED_CHUNKS.put(chunk, connection);
+        PARKED_CONNECTIONS.put(connection, chunk);
+    }
+
+    /**
+     * Wake up all connections that were parked for the given chunk.
+     * @param world A world.
+     * @param chunkPos A chunk position.
+     */
+    public static void wakeChunk(Level world, ChunkPos chunkPos) {
+        if (!PARKED_CHUNKS.isEmpty()) {
+            wakeAll(PARKED_CHUNKS.get(getChunk(world, chunkPos)));
+        }
+    }
+
+    protected static DimPos getChunk(Level world, ChunkPos chunkPos) {
+        return DimPos.of(world, chunkPos.getWorldPosition());
+    }
+
+    /**
+     * Indicate that something was moved over the given connection, which resets its backoff.
+     * @param connection A connection.
+     */
+    public static void onMoved(ITunnelConnection connection) {
+        BACKOFF_LEVELS.removeInt(connection);
+    }
+
+    /**
+     * Wake up the given connection.
+     * @param connection A connection.
+     */
+    public static void wake(ITunnelConnection connection) {
+        if (SLEEPING_UNTIL.removeLong(connection) != 0) {
+            unindex(connection);
+            if (BACKOFF_LEVELS.containsKey(connection)) {
+                // Remember the backoff until the connection had the chance to fail again
+                WOKEN_SINCE_PRUNE.add(connection);
+            }
+        }
+    }
+
+    /**
+     * Wake up all connections that target the given position.
+     * @param pos A position.
+     */
+    public static void wakePosition(DimPos pos) {
+        wakeAll(SLEEPING_POSITIONS.get(pos));
+    }
+
+    /**
+     * Wake up all connections in the given network channel.
+     * @param network A network.
+     * @param channel A channel, can be the wildcard channel.
+     */
+    public static void wakeChannel(INetwork network, int channel) {
+        Multimap<Integer, TunnelConnectionPositionedNetwork> channels = SLEEPING_CHANNELS.get(network);
+        if (channels != null) {
+            if (channel == WILDCARD_CHANNEL) {
+                wakeAll(channels.values());
+            } else {
+                wakeAll(channels.get(channel));
+                wakeAll(channels.get(WILDCARD_CHANNEL));
+            }
+        }
+    }
+
+    /**
+     * @param backoffLevel The number of consecutive failures before this one.
+     * @return The number of ticks to sleep.
+     */
+    protected static int getSleepTicks(int backoffLevel) {
+        long ticks = (long) GeneralConfig.inventoryUnchangedTickTimeout << backoffLevel;
+        return (int) Math.max(GeneralConfig.inventoryUnchangedTickTimeout,
+                Math.min(ticks, GeneralConfig.inventoryUnchangedTickTimeoutMax));
+    }
+
+    protected static void wakeAll(Collection<? extends ITunnelConnection> connections) {
+        if (!connections.isEmpty()) {
+            // Copy, as waking modifies the underlying collection
+            for (ITunnelConnection connection : Lists.newArrayList(connections)) {
+                wake(connection);
+            }
+        }
+    }
+
+    protected static void unindex(ITunnelConnection connection) {
+        if (!PARKED_CONNECTIONS.isEmpty()) {
+            DimPos chunk = PARKED_CONNECTIONS.remove(connection);
+            if (chunk != null) {
+                PARKED_CHUNKS.remove(chunk, connection);
+                return;
+            }
+        }
+        if (connection instanceof TunnelConnectionPositionedNetwork) {
+            TunnelConnectionPositionedNetwork positionedConnection = (TunnelConnectionPositionedNetwork) connection;
+            SLEEPING_POSITIONS.remove(positionedConnection.getPos().getPos(), positionedConnection);
+            Multimap<Integer, TunnelConnectionPositionedNetwork> channels = SLEEPING_CHANNELS.get(positionedConnection.getNetwork());
+            if (channels != null) {
+                channels.remove(positionedConnection.getChannel(), positionedConnection);
+                if (channels.isEmpty()) {
+                    SLEEPING_CHANNELS.remove(positionedConnection.getNetwork());
+                }
+            }
+        }
+    }
+
+    /**
+     * Advance the server tick, and wake up all connections of which the sleep duration passed.
+     */
+    public static void onTick() {
+        WAKE_WHEEL.advance(connection -> {
+            // Skip connections that were woken up in the meantime, or that were put to sleep again later
+            if (SLEEPING_UNTIL.containsKey(connection) && SLEEPING_UNTIL.getLong(connection) <= WAKE_WHEEL.getTick()) {
+                wake(connection);
+            }
+        });
+
+        if (WAKE_WHEEL.getTick() >= nextPruneTick) {
+            pruneBackoff();
+        }
+    }
+
+    /**
+     * Forget all sleeping connections, for when the server stops.
+     */
+    public static void clear() {
+        SLEEPING_POSITIONS.clear();
+        SLEEPING_CHANNELS.clear();
+        PARKED_CHUNKS.clear();
+        PARKED_CONNECTIONS.clear();
+        SLEEPING_UNTIL.clear();
+        WAKE_WHEEL.clear();
+        BACKOFF_LEVELS.clear();
+        WOKEN_SINCE_PRUNE.clear();
+    }
+
+    /**
+     * Forget the backoff of connections that are not sleeping anymore and were not woken up since the last prune,
+     * such as the ones of removed parts.
+     */
+    protected static void pruneBackoff() {
+        BACKOFF_LEVELS.keySet().removeIf(connection -> !SLEEPING_UNTIL.containsKey(connection)
+                && !WOKEN_SINCE_PRUNE.contains(connection));
+        WOKEN_SINCE_PRUNE.clear();
+        nextPruneTick = WAKE_WHEEL.getTick() + Math.max(1, GeneralConfig.inventoryUnchangedTickTimeoutMax);
+    }
+
+}
@@ -0,0 +1,47 @@
+package org.cyclops.integratedtunnels.core;
+
+import net.minecraft.world.level.Level;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.world.ChunkEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import org.cyclops.integratedtunnels.core.network.ChannelIndexDeltas;
+import org.cyclops.integratedtunnels.core.network.ChannelIndexSnapshots;
+import org.cyclops.integratedtunnels.core.network.ChannelThroughputGovernor;
+import org.cyclops.integratedtunnels.core.network.NetworkHandleCache;
+import org.cyclops.integratedtunnels.core.part.PartStateCache;
+import org.cyclops.integratedtunnels.core.predicate.IngredientPredicateChannelMatches;
+
+/**
+ * Drives the sleep durations of tunnel connections by server ticks.
+ * @author rubensworks
+ */
+public class TunnelSleepTickHandler {
+
+    @SubscribeEvent
+    public void onServerTick(TickEvent.ServerTickEvent event) {
+        if (event.phase == TickEvent.Phase.END) {
+            TunnelSleepHelpers.onTick();
+        }
+    }
+
+    @SubscribeEvent
+    public void onChunkLoad(ChunkEvent.Load event) {
+        if (event.getWorld() instanceof Level && !event.getWorld().isClientSide()) {
+            TunnelSleepHelpers.wakeChunk((Level) event.getWorld(), event.getChunk().getPos());
+        }
+    }
+
+    @SubscribeEvent
+    public void onServerStopped(ServerStoppedEvent event) {
+        TunnelSleepHelpers.clear();
+        SlotHints.clear();
+        ChannelThroughputGovernor.clear();
+        ChannelIndexDeltas.clear();
+        ChannelIndexSnapshots.clear();
+        IngredientPredicateChannelMatches.clear();
+        NetworkHandleCache.clear();
+        PartStateCache.clear();
+    }
+
+}
@@ -0,0 +1,163 @@
+package org.cyclops.integratedtunnels.core.network;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Lists;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import org.cyclops.commoncapabilities.api.ingredient.IIngredientMatcher;
+import org.cyclops.integrateddynamics.api.network.IPositionedAddonsNetworkIngredients;
+import org.cyclops.integratedtunnels.core.TunnelSleepHelpers;
+
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Quantity changes of network channels that were caused by movements in the current tick.
+ *
+ * The channel index of a network is only updated once its positions are observed,
+ * so quantities that are looked up right after a movement would be outdated.
+ * This is a read-side overlay: the moved instances are applied on top of the index when quantities are looked up,
+ * while the index itself is still only maintained by the network observer.
+ *
+ * Changes are tracked per tick: each movement schedules an observation of the positions it visited,
+ * which the network processes at its next update, so the index reflects all changes of a tick from the next tick on.
+ * Changes are therefore discarded as soon as a new tick starts.
+ *
+ * Movements on the wildcard channel may have affected any channel, so they are included when reading any channel,
+ * and reading the wildcard channel includes the movements on all channels.
+ *
+ * Changes are only recorded for networks of which the quantities were looked up recently,
+ * so that movements in networks without readers do not pay for this.
+ * @param <T> The instance type.
+ * @author rubensworks
+ */
+public class ChannelIndexDeltas<T> {
+
+    private static final int MAX_NETWORKS = 1024;
+    private static final int READER_TIMEOUT = 200;
+    private static final int WILDCARD_CHANNEL = -1;
+    private static final Cache<IPositionedAddonsNetworkIngredients<?, ?>, ChannelIndexDeltas<?>> CACHE = CacheBuilder.newBuilder()
+            .weakKeys()
+            .maximumSize(MAX_NETWORKS)
+            .build();
+
+    private final Int2ObjectMap<Channel<T>> channels = new Int2ObjectOpenHashMap<>();
+    private long tick = -1;
+    private long readTick;
+
+    /**
+     * @param network A network.
+     * @param <T> The instance type.
+     * @return The changes of the given network, or null if its quantities are not being read.
+     */
+    @Nullable
+    public static <T> ChannelIndexDeltas<T> get(IPositionedAddonsNetworkIngredients<T, ?> network) {
+        return (ChannelIndexDeltas<T>) CACHE.getIfPresent(network);
+    }
+
+    /**
+     * Forget all changes, for when the server stops.
+     */
+    public static void clear() {
+        CACHE.invalidateAll();
+    }
+
+    /**
+     * Get the quantity of the given instance in a channel, including the changes of the current tick.
+     * This marks the network as being read, so that its changes are recorded from now on.
+     * @param network A network.
+     * @param channel A channel.
+     * @param instance An instance, its quantity is ignored.
+     * @param <T> The instance type.
+     * @param <M> The matching condition parameter.
+     * @return The quantity.
+     */
+    public static <T, M> long getQuantity(IPositionedAddonsNetworkIngredients<T, M> network, int channel, T instance) {
+        ChannelIndexDeltas<T> deltas;
+        try {
+            deltas = (ChannelIndexDeltas<T>) CACHE.get(network, ChannelIndexDeltas::new);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e);
+        }
+        long quantity = network.getChannelIndex(channel).getQuantity(instance);
+        return Math.max(0, quantity + deltas.getDelta(network.getComponent().getMatcher(), channel, instance));
+    }
+
+    /**
+     * Record a movement that was done from or into the given channel, if the network is being read.
+     * @param channel The channel.
+     * @param moved The moved instance, which may not be modified afterwards.
+     * @param fromNetwork If the instance was moved out of the channel, otherwise it was moved into it.
+     */
+    public void record(int channel, T moved, boolean fromNetwork) {
+        long tick = TunnelSleepHelpers.getTick();
+        if (tick - readTick > READER_TIMEOUT) {
+            // Nobody reads this network anymore
+            return;
+        }
+        update(tick);
+        Channel<T> deltas = channels.computeIfAbsent(channel, c -> new Channel<>());
+        (fromNetwork ? deltas.extracted : deltas.inserted).add(moved);
+    }
+
+    protected <M> long getDelta(IIngredientMatcher<T, M> matcher, int channel, T instance) {
+        long tick = TunnelSleepHelpers.getTick();
+        readTick = tick;
+        update(tick);
+        if (channels.isEmpty()) {
+            return 0;
+        }
+        M matchFlags = matcher.getExactMatchNoQuantityCondition();
+        if (channel == WILDCARD_CHANNEL) {
+            long delta = 0;
+            for (Channel<T> deltas : channels.values()) {
+                delta += deltas.getDelta(matcher, matchFlags, instance);
+            }
+            return delta;
+        }
+        long delta = 0;
+        Channel<T> deltas = channels.get(channel);
+        if (deltas != null) {
+            delta += deltas.getDelta(matcher, matchFlags, instance);
+        }
+        Channel<T> wildcardDeltas = channels.get(WILDCARD_CHANNEL);
+        if (wildcardDeltas != null) {
+            delta += wildcardDeltas.getDelta(matcher, matchFlags, instance);
+        }
+        return delta;
+    }
+
+    /**
+     * Discard the changes of previous ticks, as they have been observed.
+     * @param tick The current tick.
+     */
+    protected void update(long tick) {
+        if (this.tick != tick) {
+            this.tick = tick;
+            channels.clear();
+        }
+    }
+
+    private static class Channel<T> {
+        private final List<T> inserted = Lists.newArrayList();
+        private final List<T> extracted = Lists.newArrayList();
+
+        private <M> long getDelta(IIngredientMatcher<T, M> matcher, M matchFlags, T instance) {
+            long delta = 0;
+            for (T moved : inserted) {
+                if (matcher.matches(instance, moved, matchFlags)) {
+                    delta += matcher.getQuantity(moved);
+                }
+            }
+            for (T moved : extracted) {
+                if (matcher.matches(instance, moved, matchFlags)) {
+                    delta -= matcher.getQuantity(moved);
+                }
+            }
+            return delta;
+        }
+    }
+
+}
@@ -0,0 +1,132 @@
+package org.cyclops.integratedtunnels.core.network;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalNotification;
+import com.google.common.collect.ImmutableList;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import org.cyclops.integrateddynamics.api.ingredient.IIngredientComponentStorageObservable;
+import org.cyclops.integrateddynamics.api.network.IPositionedAddonsNetworkIngredients;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Random-access snapshots of the instances in channel indexes, for indexed access by list proxies.
+ *
+ * A snapshot of a channel is kept until the network reports an observed change in that channel,
+ * so it is created at most once per observation of the channel,
+ * and is shared by all list proxies that read from the same channel.
+ * @author rubensworks
+ */
+public class ChannelIndexSnapshots {
+
+    private static final int MAX_NETWORKS = 1024;
+    private static final int WILDCARD_CHANNEL = -1;
+    private static final Cache<IPositionedAddonsNetworkIngredients<?, ?>, NetworkSnapshots<?, ?>> CACHE = CacheBuilder.newBuilder()
+            .weakKeys()
+            .maximumSize(MAX_NETWORKS)
+            .removalListener(ChannelIndexSnapshots::onRemoval)
+            .build();
+
+    /**
+     * @param network A network.
+     * @param channel A channel.
+     * @param <T> The instance type.
+     * @param <M> The matching condition parameter.
+     * @return An immutable snapshot of the instances in the given channel index since its last observed change.
+     */
+    public static <T, M> Snapshot<T> get(IPositionedAddonsNetworkIngredients<T, M> network, int channel) {
+        NetworkSnapshots<T, M> snapshots;
+        try {
+            snapshots = (NetworkSnapshots<T, M>) CACHE.get(network, () -> {
+                NetworkSnapshots<T, M> value = new NetworkSnapshots<>();
+                network.addObserver(value);
+                return value;
+            });
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e);
+        }
+        Snapshot<T> snapshot = snapshots.channels.get(channel);
+        if (snapshot == null || !snapshot.isValid()) {
+            snapshot = new Snapshot<>(ImmutableList.copyOf(network.getChannelIndex(channel).iterator()));
+            snapshots.channels.put(channel, snapshot);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Forget all snapshots, for when the server stops.
+     */
+    public static void clear() {
+        CACHE.invalidateAll();
+    }
+
+    private static void onRemoval(RemovalNotification<IPositionedAddonsNetworkIngredients<?, ?>, NetworkSnapshots<?, ?>> notification) {
+        IPositionedAddonsNetworkIngredients network = notification.getKey();
+        if (network != null) {
+            network.removeObserver(notification.getValue());
+        }
+    }
+
+    /**
+     * The snapshots of the channels in a network, which are invalidated when the network observes a change.
+     * @param <T> The instance type.
+     * @param <M> The matching condition parameter.
+     */
+    private static class NetworkSnapshots<T, M> implements IIngredientComponentStorageObservable.IIndexChangeObserver<T, M> {
+        private final Int2ObjectMap<Snapshot<T>> channels = new Int2ObjectOpenHashMap<>();
+
+        @Override
+        public void onChange(IIngredientComponentStorageObservable.StorageChangeEvent<T, M> event) {
+            int channel = event.getChannel();
+            if (channel == WILDCARD_CHANNEL) {
+                channels.values().forEach(Snapshot::invalidate);
+                channels.clear();
+            } else {
+                invalidate(channel);
+                invalidate(WILDCARD_CHANNEL);
+            }
+        }
+
+        private void invalidate(int channel) {
+            Snapshot<T> snapshot = channels.remove(channel);
+            if (snapshot != null) {
+                snapshot.invalidate();
+            }
+        }
+    }
+
+    /**
+     * The instances of a channel index at a certain observation.
+     * @param <T> The instance type.
+     */
+    public static class Snapshot<T> {
+        private final List<T> instances;
+        private boolean valid = true;
+
+        private Snapshot(List<T> instances) {
+            this.instances = instances;
+        }
+
+        /**
+         * @return The immutable instances.
+         */
+        public List<T> getInstances() {
+            return instances;
+        }
+
+        /**
+         * @return If no change was observed in the channel since this snapshot was created.
+         */
+        public boolean isValid() {
+            return valid;
+        }
+
+        private void invalidate() {
+            this.valid = false;
+        }
+    }
+
+}
@@ -0,0 +1,168 @@
+package org.cyclops.integratedtunnels.core.network;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import it.unimi.dsi.fastutil.ints.Int2LongOpenHashMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import org.cyclops.integrateddynamics.api.network.IPositionedAddonsNetworkIngredients;
+import org.cyclops.integratedtunnels.GeneralConfig;
+import org.cyclops.integratedtunnels.api.network.IFluidNetwork;
+import org.cyclops.integratedtunnels.api.network.IItemNetwork;
+import org.cyclops.integratedtunnels.core.TunnelSleepHelpers;
+import org.cyclops.integratedtunnels.part.aspect.ITunnelConnection;
+
+import javax.annotation.Nullable;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Governs the aggregate throughput of importers and exporters per network channel with a token bucket.
+ *
+ * Each channel bucket is refilled with the configured rate per tick, up to a burst capacity.
+ * Connections may keep moving while the bucket has tokens and while they did not exceed their fair share of the rate,
+ * which is the rate divided by the number of connections that drew from the channel during the previous tick.
+ * Tokens that were saved up beyond one tick of rate can be drawn by any connection, regardless of its fair share.
+ * As a single movement can not be split, a bucket can be overdrawn by one movement, which is repaid by later refills.
+ *
+ * The rate is a server-wide setting that applies to each channel of every network of a type,
+ * so it acts as a global safety cap rather than a per-network setting.
+ * @author rubensworks
+ */
+public class ChannelThroughputGovernor {
+
+    private static final int MAX_NETWORKS = 1024;
+    private static final Cache<IPositionedAddonsNetworkIngredients<?, ?>, ChannelThroughputGovernor> CACHE = CacheBuilder.newBuilder()
+            .weakKeys()
+            .maximumSize(MAX_NETWORKS)
+            .build();
+
+    private final long rate;
+    private final Int2ObjectMap<Bucket> buckets = new Int2ObjectOpenHashMap<>();
+
+    protected ChannelThroughputGovernor(long rate) {
+        this.rate = rate;
+    }
+
+    /**
+     * @param network A network.
+     * @return The governor of the given network, or null if its throughput is not limited.
+     */
+    @Nullable
+    public static ChannelThroughputGovernor get(IPositionedAddonsNetworkIngredients<?, ?> network) {
+        long rate = getConfiguredRate(network);
+        if (rate <= 0) {
+            return null;
+        }
+        try {
+            ChannelThroughputGovernor governor = CACHE.get(network, () -> new ChannelThroughputGovernor(rate));
+            if (governor.rate != rate) {
+                // The config was changed
+                governor = new ChannelThroughputGovernor(rate);
+                CACHE.put(network, governor);
+            }
+            return governor;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Forget all governors, for when the server stops.
+     */
+    public static void clear() {
+        CACHE.invalidateAll();
+    }
+
+    protected static long getConfiguredRate(IPositionedAddonsNetworkIngredients<?, ?> network) {
+        if (network instanceof IItemNetwork) {
+            return GeneralConfig.itemChannelRateLimit;
+        }
+        if (network instanceof IFluidNetwork) {
+            return GeneralConfig.fluidChannelRateLimit;
+        }
+        return 0;
+    }
+
+    /**
+     * @param channel A channel.
+     * @return The bucket of the given channel.
+     */
+    public Bucket getBucket(int channel) {
+        return buckets.computeIfAbsent(channel, c -> new Bucket(rate));
+    }
+
+    /**
+     * @param network A network.
+     * @param channel A channel.
+     * @return The fraction of the rate of the given channel that was used during the previous tick,
+     *         or 0 if its throughput is not limited.
+     */
+    public static double getUtilisation(IPositionedAddonsNetworkIngredients<?, ?> network, int channel) {
+        ChannelThroughputGovernor governor = get(network);
+        return governor != null ? governor.getBucket(channel).getUtilisation() : 0;
+    }
+
+    public static class Bucket {
+
+        private final long rate;
+        private final long capacity;
+        // Connections are kept by identity hash, as they reference the network that weakly keys the governor
+        private final Int2LongOpenHashMap drawnThisTick = new Int2LongOpenHashMap();
+        private long tokens;
+        private long tick;
+        private long drawnLastTick;
+        private int connectionsLastTick;
+
+        protected Bucket(long rate) {
+            this.rate = rate;
+            this.capacity = rate * Math.max(1, GeneralConfig.channelRateBurstTicks);
+            this.tokens = this.capacity;
+            this.tick = TunnelSleepHelpers.getTick();
+        }
+
+        protected void refill() {
+            long currentTick = TunnelSleepHelpers.getTick();
+            if (currentTick != tick) {
+                long elapsed = currentTick - tick;
+                tokens = Math.min(capacity, tokens + rate * elapsed);
+                drawnLastTick = elapsed == 1 ? drawnThisTick.values().longStream().sum() : 0;
+                connectionsLastTick = elapsed == 1 ? drawnThisTick.size() : 0;
+                drawnThisTick.clear();
+                tick = currentTick;
+            }
+        }
+
+        /**
+         * @param connection A connection.
+         * @return If the given connection may do another movement in this tick.
+         */
+        public boolean canDraw(ITunnelConnection connection) {
+            refill();
+            if (tokens <= 0) {
+                return false;
+            }
+            long fairShare = Math.max(1, rate / Math.max(1, connectionsLastTick));
+            return drawnThisTick.get(System.identityHashCode(connection)) < Math.max(fairShare, tokens - rate);
+        }
+
+        /**
+         * Consume tokens for a movement.
+         * @param connection The connection that moved.
+         * @param quantity The moved quantity.
+         */
+        public void draw(ITunnelConnection connection, long quantity) {
+            refill();
+            tokens -= quantity;
+            drawnThisTick.addTo(System.identityHashCode(connection), quantity);
+        }
+
+        /**
+         * @return The fraction of the rate that was used during the previous tick.
+         */
+        public double getUtilisation() {
+            refill();
+            return (double) drawnLastTick / rate;
+        }
+    }
+
+}
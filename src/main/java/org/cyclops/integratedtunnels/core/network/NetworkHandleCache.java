@@ -0,0 +1,101 @@
+package org.cyclops.integratedtunnels.core.network;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Maps;
+import net.minecraft.core.Direction;
+import net.minecraftforge.common.capabilities.Capability;
+import org.cyclops.cyclopscore.datastructure.DimPos;
+import org.cyclops.integrateddynamics.api.network.INetwork;
+import org.cyclops.integrateddynamics.api.part.PartPos;
+import org.cyclops.integrateddynamics.core.helper.NetworkHelpers;
+
+import javax.annotation.Nullable;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * A cache of the networks and network capabilities at part positions,
+ * so that parts and values that read from a network each tick do not have to look up the network every time.
+ *
+ * When a network is re-formed, for example because a cable was added or removed, the old network is killed.
+ * A cached network is only returned while it has not been killed, otherwise the network is looked up again.
+ * @author rubensworks
+ */
+public class NetworkHandleCache {
+
+    private static final int MAX_POSITIONS = 4096;
+    private static final Cache<PartPos, Handle> CACHE = CacheBuilder.newBuilder()
+            .maximumSize(MAX_POSITIONS)
+            .build();
+
+    /**
+     * @param capability A network capability.
+     * @param dimPos A position.
+     * @param side A side.
+     * @param <N> The capability type.
+     * @return The capability of the network at the given position, if any.
+     */
+    public static <N> Optional<N> getNetworkCapability(Capability<? extends N> capability, DimPos dimPos, Direction side) {
+        Handle handle = getHandle(dimPos, side);
+        return handle != null ? handle.getCapability(capability) : Optional.empty();
+    }
+
+    /**
+     * Forget all networks, for when the server stops.
+     */
+    public static void clear() {
+        CACHE.invalidateAll();
+    }
+
+    @Nullable
+    protected static Handle getHandle(DimPos dimPos, Direction side) {
+        PartPos pos = PartPos.of(dimPos, side);
+        Handle handle = CACHE.getIfPresent(pos);
+        if (handle == null || handle.getNetwork() == null) {
+            INetwork network = NetworkHelpers.getNetwork(dimPos.getLevel(true), dimPos.getBlockPos(), side).orElse(null);
+            if (network == null) {
+                // Positions without a network are not cached, as a network may be placed there at any time
+                CACHE.invalidate(pos);
+                return null;
+            }
+            handle = new Handle(network);
+            CACHE.put(pos, handle);
+        }
+        return handle;
+    }
+
+    public static class Handle {
+
+        private final WeakReference<INetwork> network;
+        private final Map<Capability<?>, Optional<?>> capabilities = Maps.newIdentityHashMap();
+
+        protected Handle(INetwork network) {
+            this.network = new WeakReference<>(network);
+        }
+
+        /**
+         * @return The network, or null if it was killed.
+         */
+        @Nullable
+        public INetwork getNetwork() {
+            INetwork network = this.network.get();
+            return network != null && !network.isKilled() ? network : null;
+        }
+
+        /**
+         * @param capability A network capability.
+         * @param <N> The capability type.
+         * @return The capability of the network.
+         */
+        public <N> Optional<N> getCapability(Capability<? extends N> capability) {
+            INetwork network = getNetwork();
+            if (network == null) {
+                return Optional.empty();
+            }
+            return (Optional<N>) capabilities.computeIfAbsent(capability, c -> network.getCapability(capability).resolve());
+        }
+    }
+
+}
@@ -0,0 +1,90 @@
+package org.cyclops.integratedtunnels.core.network;
+
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Sets;
+import org.cyclops.integrateddynamics.api.network.IPartPosIteratorHandler;
+import org.cyclops.integrateddynamics.api.network.IPositionedAddonsNetworkIngredients;
+import org.cyclops.integrateddynamics.api.part.PartPos;
+import org.cyclops.integrateddynamics.api.part.PrioritizedPartPos;
+
+import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Set;
+
+/**
+ * A position iterator handler that records all positions a network channel visits during a movement,
+ * so that only those positions have to be observed afterwards, instead of the whole network.
+ *
+ * Iteration is delegated to the handler that was active on the network, such as a round-robin handler,
+ * which is restored once recording stops.
+ * @author rubensworks
+ */
+public class PartPosIteratorHandlerRecording implements IPartPosIteratorHandler {
+
+    private final IPositionedAddonsNetworkIngredients<?, ?> network;
+    @Nullable
+    private final IPartPosIteratorHandler delegate;
+    private final Set<PartPos> positions;
+
+    protected PartPosIteratorHandlerRecording(IPositionedAddonsNetworkIngredients<?, ?> network,
+                                              @Nullable IPartPosIteratorHandler delegate, Set<PartPos> positions) {
+        this.network = network;
+        this.delegate = delegate;
+        this.positions = positions;
+    }
+
+    /**
+     * Start recording the visited positions of the given network.
+     * @param network A network.
+     * @return The recording handler, which must be stopped afterwards.
+     */
+    public static PartPosIteratorHandlerRecording start(IPositionedAddonsNetworkIngredients<?, ?> network) {
+        PartPosIteratorHandlerRecording handler = new PartPosIteratorHandlerRecording(network, network.getPartPosIteratorHandler(),
+                Sets.newHashSet());
+        network.setPartPosIteratorHandler(handler);
+        return handler;
+    }
+
+    /**
+     * Stop recording, and restore the previous handler of the network.
+     */
+    public void stop() {
+        network.setPartPosIteratorHandler(delegate);
+    }
+
+    /**
+     * Schedule an observation after the movement.
+     * If something was moved, only the recorded positions in the given channel are observed.
+     * Otherwise, or if no positions were recorded while something was moved,
+     * a regular observation of the network is scheduled.
+     * @param channel The channel.
+     * @param moved If something was moved.
+     */
+    public void scheduleObservation(int channel, boolean moved) {
+        if (!moved || positions.isEmpty()) {
+            network.scheduleObservation();
+            return;
+        }
+        for (PartPos position : positions) {
+            network.scheduleObservationForced(channel, position);
+        }
+    }
+
+    @Override
+    public Iterator<PartPos> handleIterator(Collection<PrioritizedPartPos> positions, int channel) {
+        Iterator<PartPos> it = delegate != null ? delegate.handleIterator(positions, channel)
+                : Iterators.transform(positions.iterator(), PrioritizedPartPos::getPartPos);
+        return Iterators.transform(it, position -> {
+            this.positions.add(position);
+            return position;
+        });
+    }
+
+    @Override
+    public IPartPosIteratorHandler clone() {
+        // Clones record into the same set, as they are used for the same movement
+        return new PartPosIteratorHandlerRecording(network, delegate != null ? delegate.clone() : null, positions);
+    }
+
+}
@@ -0,0 +1,60 @@
+package org.cyclops.integratedtunnels.core.part;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.cyclops.integrateddynamics.api.part.IPartState;
+import org.cyclops.integrateddynamics.api.part.PartPos;
+import org.cyclops.integrateddynamics.core.helper.PartHelpers;
+
+import javax.annotation.Nullable;
+
+/**
+ * A cache of the states of tunnel parts by position, so that aspects that are evaluated each tick
+ * do not have to look up the part state every time.
+ *
+ * Entries are invalidated when a part is added to or removed from a network,
+ * which happens when a part is placed, removed, or its chunk is (un)loaded.
+ * @author rubensworks
+ */
+public class PartStateCache {
+
+    private static final int MAX_PARTS = 4096;
+    private static final Cache<PartPos, IPartState<?>> CACHE = CacheBuilder.newBuilder()
+            .weakValues()
+            .maximumSize(MAX_PARTS)
+            .build();
+
+    /**
+     * @param center The position of a part.
+     * @return The state of the part at the given position, or null if there is no part.
+     */
+    @Nullable
+    public static IPartState<?> get(PartPos center) {
+        IPartState<?> state = CACHE.getIfPresent(center);
+        if (state == null) {
+            PartHelpers.PartStateHolder<?, ?> partStateHolder = PartHelpers.getPart(center);
+            if (partStateHolder == null) {
+                return null;
+            }
+            state = partStateHolder.getState();
+            CACHE.put(center, state);
+        }
+        return state;
+    }
+
+    /**
+     * Forget the state of the part at the given position.
+     * @param center The position of a part.
+     */
+    public static void invalidate(PartPos center) {
+        CACHE.invalidate(center);
+    }
+
+    /**
+     * Forget all part states, for when the server stops.
+     */
+    public static void clear() {
+        CACHE.invalidateAll();
+    }
+
+}
@@ -1,17 +1,40 @@
 package org.cyclops.integratedtunnels.core.part;
 
 import org.cyclops.integrateddynamics.api.network.IPartPosIteratorHandler;
+import org.cyclops.integrateddynamics.api.part.PartPos;
+import org.cyclops.integrateddynamics.api.part.aspect.property.IAspectProperties;
 import org.cyclops.integrateddynamics.api.part.write.IPartTypeWriter;
 import org.cyclops.integrateddynamics.core.part.write.PartStateWriterBase;
+import org.cyclops.integratedtunnels.core.TunnelSleepHelpers;
+import org.cyclops.integratedtunnels.part.aspect.ChanneledTargetInformation;
+import org.cyclops.integratedtunnels.part.aspect.IChanneledTarget;
+import org.cyclops.integratedtunnels.part.aspect.ITunnelConnection;
+import org.cyclops.integratedtunnels.part.aspect.TunnelConnectionPositionedNetwork;
+
+import javax.annotation.Nullable;
+import java.util.Objects;
 
 /**
  * A writer part state that maintains an iterator for round-robin iteration over interfaces.
+ * It also remembers the last movement target, so it can be reused while its connection is sleeping.
  *
  * @author rubensworks
  */
 public class PartStateRoundRobin<P extends IPartTypeWriter> extends PartStateWriterBase<P> {
 
     private IPartPosIteratorHandler partPosIteratorHandler = null;
+    @Nullable
+    private PartPos lastTargetPos = null;
+    @Nullable
+    private IAspectProperties lastTargetProperties = null;
+    @Nullable
+    private ChanneledTargetInformation<?, ?> lastTargetInformation = null;
+    @Nullable
+    private Object lastTargetValue = null;
+    @Nullable
+    private IChanneledTarget<?, ?> lastTarget = null;
+    @Nullable
+    private ITunnelConnection lastConnection = null;
 
     public PartStateRoundRobin(int inventorySize) {
         super(inventorySize);
@@ -24,4 +47,101 @@ public class PartStateRoundRobin<P extends IPartTypeWriter> extends PartStateWri
     public IPartPosIteratorHandler getPartPosIteratorHandler() {
         return partPosIteratorHandler;
     }
+
+    /**
+     * Get the previous connection of this part if it is identical to the given one, otherwise remember the given one.
+     * This makes sleep lookups for unchanged connections identity checks.
+     * Connections are compared by the identity of their interned transfer, so this does not compare transfers deeply.
+     * @param connection A connection.
+     * @return The interned connection.
+     */
+    public ITunnelConnection internConnection(ITunnelConnection connection) {
+        if (lastConnection instanceof TunnelConnectionPositionedNetwork && connection instanceof TunnelConnectionPositionedNetwork
+                && ((TunnelConnectionPositionedNetwork) lastConnection).isIdentical((TunnelConnectionPositionedNetwork) connection)) {
+            return lastConnection;
+        }
+        lastConnection = connection;
+        return connection;
+    }
+
+    /**
+     * Get the last movement target if it was created for the same input,
+     * and if its connection is still sleeping.
+     * @param targetPos The target position.
+     * @param properties The aspect properties.
+     * @param information The target information.
+     * @return The last target or null.
+     */
+    @Nullable
+    public IChanneledTarget<?, ?> getSleepingTarget(PartPos targetPos, IAspectProperties properties,
+                                                    ChanneledTargetInformation<?, ?> information) {
+        if (lastTarget != null && lastTarget.getConnection() != null
+                && TunnelSleepHelpers.isSleeping(lastTarget.getConnection())
+                && Objects.equals(lastTargetPos, targetPos)
+                && Objects.equals(lastTargetProperties, properties)
+                && Objects.equals(lastTargetInformation, information)) {
+            return lastTarget;
+        }
+        return null;
+    }
+
+    /**
+     * Get the information of the last movement target if it was created from the same value and properties,
+     * and if its connection is still sleeping.
+     * Values are compared by identity, except for primitive values, so that this check is cheap.
+     * @param targetPos The target position.
+     * @param properties The aspect properties.
+     * @param value The value the information would be created from.
+     * @return The last target information or null.
+     */
+    @Nullable
+    public ChanneledTargetInformation<?, ?> getSleepingInformation(PartPos targetPos, IAspectProperties properties, Object value) {
+        if (lastTarget != null && lastTarget.getConnection() != null
+                && TunnelSleepHelpers.isSleeping(lastTarget.getConnection())
+                && (lastTargetValue == value || isPrimitive(value) && value.equals(lastTargetValue))
+                && Objects.equals(lastTargetPos, targetPos)
+                && Objects.equals(lastTargetProperties, properties)) {
+            return lastTargetInformation;
+        }
+        return null;
+    }
+
+    protected static boolean isPrimitive(Object value) {
+        return value instanceof Number || value instanceof Boolean;
+    }
+
+    /**
+     * Remember the value from which the information for the next movement target is created.
+     * @param value The value.
+     */
+    public void setLastTargetValue(Object value) {
+        this.lastTargetValue = value;
+    }
+
+    /**
+     * Remember the last movement target.
+     * @param targetPos The target position.
+     * @param properties The aspect properties.
+     * @param information The target information.
+     * @param target The created target.
+     */
+    public void setLastTarget(PartPos targetPos, IAspectProperties properties,
+                              ChanneledTargetInformation<?, ?> information, IChanneledTarget<?, ?> target) {
+        this.lastTargetPos = targetPos;
+        this.lastTargetProperties = properties;
+        this.lastTargetInformation = information;
+        this.lastTarget = target;
+    }
+
+    /**
+     * Forget the last movement target, for when its network may have changed.
+     */
+    public void resetLastTarget() {
+        this.lastTargetPos = null;
+        this.lastTargetProperties = null;
+        this.lastTargetInformation = null;
+        this.lastTargetValue = null;
+        this.lastTarget = null;
+        this.lastConnection = null;
+    }
 }
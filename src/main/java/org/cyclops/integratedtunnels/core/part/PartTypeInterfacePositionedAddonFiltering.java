@@ -26,6 +26,7 @@ import org.cyclops.integrateddynamics.api.part.PartTarget;
 import org.cyclops.integrateddynamics.core.helper.PartHelpers;
 import org.cyclops.integrateddynamics.core.part.PartTypeBase;
 import org.cyclops.integrateddynamics.core.part.write.PartStateWriterBase;
+import org.cyclops.integratedtunnels.core.TunnelSleepHelpers;
 
 import javax.annotation.Nullable;
 import java.util.Optional;
@@ -110,6 +111,8 @@ public abstract class PartTypeInterfacePositionedAddonFiltering<N extends IPosit
         super.onBlockNeighborChange(network, partNetwork, target, state, world, neighbourBlock, neighbourBlockPos);
         if (network != null) {
             updateTargetInNetwork(network, target.getTarget(), state.getPriority(), state.getChannelInterface(), state);
+            // The contents of this interface's channel may have changed
+            TunnelSleepHelpers.wakeChannel(network, state.getChannelInterface());
         }
     }
 
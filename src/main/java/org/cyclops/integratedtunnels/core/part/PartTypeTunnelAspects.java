@@ -1,11 +1,18 @@
 package org.cyclops.integratedtunnels.core.part;
 
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.level.BlockGetter;
+import net.minecraft.world.level.block.Block;
 import org.cyclops.cyclopscore.init.ModBase;
+import org.cyclops.integrateddynamics.api.network.INetwork;
+import org.cyclops.integrateddynamics.api.network.IPartNetwork;
 import org.cyclops.integrateddynamics.api.part.PartRenderPosition;
+import org.cyclops.integrateddynamics.api.part.PartTarget;
 import org.cyclops.integrateddynamics.api.part.write.IPartStateWriter;
 import org.cyclops.integrateddynamics.api.part.write.IPartTypeWriter;
 import org.cyclops.integrateddynamics.core.part.write.PartTypeWriteBase;
 import org.cyclops.integratedtunnels.IntegratedTunnels;
+import org.cyclops.integratedtunnels.core.TunnelSleepHelpers;
 
 /**
  * Base part for a tunnels with aspects.
@@ -26,4 +33,31 @@ public abstract class PartTypeTunnelAspects<P extends IPartTypeWriter<P, S>, S e
         return IntegratedTunnels._instance;
     }
 
+    @Override
+    public void onNetworkAddition(INetwork network, IPartNetwork partNetwork, PartTarget target, S state) {
+        super.onNetworkAddition(network, partNetwork, target, state);
+        if (state instanceof PartStateRoundRobin) {
+            ((PartStateRoundRobin<?>) state).resetLastTarget();
+        }
+        PartStateCache.invalidate(target.getCenter());
+    }
+
+    @Override
+    public void onNetworkRemoval(INetwork network, IPartNetwork partNetwork, PartTarget target, S state) {
+        super.onNetworkRemoval(network, partNetwork, target, state);
+        if (state instanceof PartStateRoundRobin) {
+            ((PartStateRoundRobin<?>) state).resetLastTarget();
+        }
+        PartStateCache.invalidate(target.getCenter());
+    }
+
+    @Override
+    public void onBlockNeighborChange(INetwork network, IPartNetwork partNetwork, PartTarget target, S state, BlockGetter world, Block neighbourBlock, BlockPos neighbourBlockPos) {
+        super.onBlockNeighborChange(network, partNetwork, target, state, world, neighbourBlock, neighbourBlockPos);
+        // Connections that went to sleep on this target may be able to move something again
+        if (target.getTarget().getPos().getBlockPos().equals(neighbourBlockPos)) {
+            TunnelSleepHelpers.wakePosition(target.getTarget().getPos());
+        }
+    }
+
 }
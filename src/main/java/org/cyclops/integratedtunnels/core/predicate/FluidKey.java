@@ -0,0 +1,52 @@
+package org.cyclops.integratedtunnels.core.predicate;
+
+import net.minecraftforge.fluids.FluidStack;
+import org.cyclops.integratedtunnels.core.TunnelFluidHelpers;
+
+import java.util.Objects;
+
+/**
+ * A key for a fluid and its tag, disregarding the amount,
+ * for deduplicating fluid stacks in hash-based collections.
+ *
+ * The key refers to the given fluid stack without copying it,
+ * so the stack may not be modified while the key is in use.
+ * @author rubensworks
+ */
+public final class FluidKey {
+
+    private final FluidStack fluidStack;
+    private final int hash;
+
+    private FluidKey(FluidStack fluidStack) {
+        this.fluidStack = fluidStack;
+        this.hash = fluidStack.getFluid().hashCode() * 31 + Objects.hashCode(fluidStack.getTag());
+    }
+
+    /**
+     * @param fluidStack A fluid stack, which will not be modified.
+     * @return A key for the given fluid stack.
+     */
+    public static FluidKey of(FluidStack fluidStack) {
+        return new FluidKey(fluidStack);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof FluidKey)) {
+            return false;
+        }
+        FluidKey that = (FluidKey) obj;
+        return this.hash == that.hash
+                && TunnelFluidHelpers.areFluidStackEqual(this.fluidStack, that.fluidStack, true, false, true);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+}
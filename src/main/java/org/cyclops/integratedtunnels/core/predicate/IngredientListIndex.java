@@ -0,0 +1,79 @@
+package org.cyclops.integratedtunnels.core.predicate;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * An index over a list of ingredient instances for checking if an instance matches any of them.
+ *
+ * Instances are bucketed by a key, such as their item, and then by a hash, such as the hash of their NBT tag.
+ * A lookup only checks the instances in the matching bucket with the actual matching function,
+ * so the key and hash functions must produce equal values for instances that match.
+ *
+ * Indexes are stored in the predicates that use them, which are pooled per list value,
+ * so they are reused across ticks until the list value changes.
+ * @param <T> The instance type.
+ * @author rubensworks
+ */
+public class IngredientListIndex<T> {
+
+    private final Function<T, Object> keyFunction;
+    private final ToIntFunction<T> hashFunction;
+    private final BiPredicate<T, T> matcher;
+    private final Map<Object, Int2ObjectMap<List<T>>> buckets = Maps.newHashMap();
+    private final List<T> instances = Lists.newArrayList();
+
+    public IngredientListIndex(Iterable<T> instances, Function<T, Object> keyFunction,
+                               ToIntFunction<T> hashFunction, BiPredicate<T, T> matcher) {
+        this.keyFunction = keyFunction;
+        this.hashFunction = hashFunction;
+        this.matcher = matcher;
+        for (T instance : instances) {
+            this.instances.add(instance);
+            buckets.computeIfAbsent(keyFunction.apply(instance), key -> new Int2ObjectOpenHashMap<>())
+                    .computeIfAbsent(hashFunction.applyAsInt(instance), hash -> Lists.newArrayListWithExpectedSize(1))
+                    .add(instance);
+        }
+    }
+
+    /**
+     * @return All instances in this index, in the order of the list.
+     */
+    public List<T> getInstances() {
+        return instances;
+    }
+
+    /**
+     * @param instance An instance.
+     * @return If the given instance matches any instance in this index.
+     */
+    public boolean matchesAny(@Nullable T instance) {
+        if (instance == null) {
+            return false;
+        }
+        Int2ObjectMap<List<T>> hashBuckets = buckets.get(keyFunction.apply(instance));
+        if (hashBuckets == null) {
+            return false;
+        }
+        List<T> candidates = hashBuckets.get(hashFunction.applyAsInt(instance));
+        if (candidates == null) {
+            return false;
+        }
+        for (T candidate : candidates) {
+            if (matcher.test(instance, candidate)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
@@ -4,6 +4,10 @@ import org.cyclops.commoncapabilities.api.ingredient.IngredientComponent;
 import org.cyclops.integratedtunnels.part.aspect.ITunnelTransfer;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
 import java.util.function.Predicate;
 
@@ -22,6 +26,7 @@ public abstract class IngredientPredicate<T, M> implements Predicate<T>, ITunnel
     private final boolean empty;
     private final int maxQuantity;
     private final boolean exactQuantity;
+    private int hash;
 
     public IngredientPredicate(IngredientComponent<T, M> ingredientComponent,
                                T instance, M matchFlags, boolean blacklist, boolean empty,
@@ -75,9 +80,71 @@ public abstract class IngredientPredicate<T, M> implements Predicate<T>, ITunnel
         return exactQuantity;
     }
 
+    /**
+     * Predicates can override this to declare that their result does not depend on the quantity of an instance,
+     * and that it does not change over time for the same instance,
+     * so that the instances that match can be determined once for all quantities.
+     * @return If the result only depends on the instance apart from its quantity.
+     */
+    public boolean isQuantityIndependent() {
+        return false;
+    }
+
+    /**
+     * Test all given instances at once.
+     * @param instances A list of instances.
+     * @return A bitmap in which the bit at each index is set if the instance at that index matches.
+     */
+    public BitSet testAll(List<T> instances) {
+        BitSet matches = new BitSet(instances.size());
+        for (int i = 0; i < instances.size(); i++) {
+            if (test(instances.get(i))) {
+                matches.set(i);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Predicates without match flags can override this to allow them to be planned as index lookups,
+     * where each returned prototype is looked up with {@link #getIndexMatchFlags()},
+     * and the prototype quantity is the maximum quantity to move.
+     * Together, these lookups must match exactly the same instances as this predicate.
+     * @return The prototypes to look up, or null if this predicate can not be expressed as index lookups.
+     */
+    @Nullable
+    public Collection<T> getIndexPrototypes() {
+        return null;
+    }
+
+    /**
+     * Blacklist predicates can override this to declare that they only exclude instances by their prototypes,
+     * where each returned prototype is matched with {@link #getIndexMatchFlags()}, regardless of quantity.
+     * All instances that are equal apart from their quantity are then either all excluded or all matched.
+     * This allows moving from a network channel by skipping the excluded instances of its index,
+     * see {@link IngredientPredicateChannelMatches}.
+     * @return The excluded prototypes, or null if this predicate does not exclude instances by prototypes.
+     */
+    @Nullable
+    public Collection<T> getExcludedPrototypes() {
+        return null;
+    }
+
+    /**
+     * @return The match flags for looking up the {@link #getIndexPrototypes()} or {@link #getExcludedPrototypes()}.
+     */
+    public M getIndexMatchFlags() {
+        return null;
+    }
+
     @Override
     public boolean equals(Object obj) {
-        if (!(obj instanceof IngredientPredicate)) {
+        // Interned predicates are usually compared to themselves
+        if (obj == this) {
+            return true;
+        }
+        // Predicates of different classes may test differently for the same parameters
+        if (!(obj instanceof IngredientPredicate) || obj.getClass() != this.getClass()) {
             return false;
         }
         IngredientPredicate that = (IngredientPredicate) obj;
@@ -92,7 +159,16 @@ public abstract class IngredientPredicate<T, M> implements Predicate<T>, ITunnel
 
     @Override
     public int hashCode() {
-        return ingredientComponent.hashCode()
+        // Predicates are immutable, so their hash can be computed only once
+        if (hash == 0) {
+            hash = computeHashCode();
+        }
+        return hash;
+    }
+
+    protected int computeHashCode() {
+        return getClass().hashCode()
+                ^ ingredientComponent.hashCode()
                 ^ ingredientComponent.getMatcher().hash(instance)
                 ^ Objects.hashCode(matchFlags)
                 ^ (blacklist ? 1 : 0)
@@ -1,6 +1,9 @@
 package org.cyclops.integratedtunnels.core.predicate;
 
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import net.minecraft.world.item.ItemStack;
+import org.cyclops.commoncapabilities.api.capability.itemhandler.ItemMatch;
 import org.cyclops.commoncapabilities.api.ingredient.IngredientComponent;
 import org.cyclops.cyclopscore.helper.BlockHelpers;
 import org.cyclops.integrateddynamics.api.evaluate.variable.IValueTypeListProxy;
@@ -8,6 +11,10 @@ import org.cyclops.integrateddynamics.core.evaluate.variable.ValueObjectTypeBloc
 import org.cyclops.integratedtunnels.core.TunnelItemHelpers;
 
 import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 /**
  * @author rubensworks
@@ -18,6 +25,8 @@ public class IngredientPredicateBlockList extends IngredientPredicate<ItemStack,
     private final boolean checkStackSize;
     private final boolean checkItem;
     private final boolean checkNbt;
+    private final IngredientListIndex<ItemStack> index;
+    private List<ItemStack> indexPrototypes;
 
     public IngredientPredicateBlockList(boolean blacklist, int amount, boolean exactAmount, IValueTypeListProxy<ValueObjectTypeBlock, ValueObjectTypeBlock.ValueBlock> blocks, boolean checkStackSize, boolean checkItem, boolean checkNbt) {
         super(IngredientComponent.ITEMSTACK, blacklist, false, amount, exactAmount);
@@ -26,17 +35,58 @@ public class IngredientPredicateBlockList extends IngredientPredicate<ItemStack,
         this.checkStackSize = checkStackSize;
         this.checkItem = checkItem;
         this.checkNbt = checkNbt;
+        // Convert the blocks to items only once per predicate, which is pooled per list value.
+        // Different block states often have the same item, so deduplicate them.
+        Map<ItemKey, ItemStack> instances = Maps.newLinkedHashMap();
+        for (ValueObjectTypeBlock.ValueBlock block : blocks) {
+            if (block.getRawValue().isPresent()) {
+                ItemStack itemStack = BlockHelpers.getItemStackFromBlockState(block.getRawValue().get());
+                instances.putIfAbsent(ItemKey.of(itemStack), itemStack);
+            }
+        }
+        this.index = new IngredientListIndex<>(instances.values(),
+                instance -> checkItem ? instance.getItem() : null,
+                instance -> (checkStackSize ? instance.getCount() : 0) * 31 + (checkNbt ? Objects.hashCode(instance.getTag()) : 0),
+                (instance, listInstance) -> TunnelItemHelpers.areItemStackEqual(instance, listInstance, checkStackSize, checkItem, checkNbt));
+    }
+
+    @Override
+    public boolean isQuantityIndependent() {
+        return !checkStackSize;
     }
 
     @Override
     public boolean test(@Nullable ItemStack input) {
-        for (ValueObjectTypeBlock.ValueBlock block : blocks) {
-            if (block.getRawValue().isPresent()
-                    && TunnelItemHelpers.areItemStackEqual(input, BlockHelpers.getItemStackFromBlockState(block.getRawValue().get()), checkStackSize, checkItem, checkNbt)) {
-                return !blacklist;
+        return index.matchesAny(input) != blacklist;
+    }
+
+    @Nullable
+    @Override
+    public Collection<ItemStack> getIndexPrototypes() {
+        // The stack size of blocks can not be combined with the quantity to move
+        if (blacklist || checkStackSize) {
+            return null;
+        }
+        if (indexPrototypes == null) {
+            indexPrototypes = Lists.newArrayList();
+            for (ItemStack itemStack : index.getInstances()) {
+                if (!itemStack.isEmpty()) {
+                    indexPrototypes.add(TunnelItemHelpers.prototypeWithCount(itemStack, getMaxQuantity()));
+                }
             }
         }
-        return blacklist;
+        return indexPrototypes;
+    }
+
+    @Nullable
+    @Override
+    public Collection<ItemStack> getExcludedPrototypes() {
+        return blacklist && !checkStackSize ? index.getInstances() : null;
+    }
+
+    @Override
+    public Integer getIndexMatchFlags() {
+        return (checkItem ? ItemMatch.ITEM : ItemMatch.ANY) | (checkNbt ? ItemMatch.TAG : ItemMatch.ANY);
     }
 
     @Override
@@ -54,8 +104,8 @@ public class IngredientPredicateBlockList extends IngredientPredicate<ItemStack,
     }
 
     @Override
-    public int hashCode() {
-        return super.hashCode()
+    protected int computeHashCode() {
+        return super.computeHashCode()
                 ^ (this.blacklist ? 1 : 0) << 1
                 ^ (this.checkItem ? 1 : 0) << 2
                 ^ (this.checkStackSize ? 1 : 0) << 3
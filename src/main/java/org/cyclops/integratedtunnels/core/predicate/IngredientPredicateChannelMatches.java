@@ -0,0 +1,256 @@
+package org.cyclops.integratedtunnels.core.predicate;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import org.cyclops.commoncapabilities.api.ingredient.IIngredientMatcher;
+import org.cyclops.integrateddynamics.api.network.IPositionedAddonsNetworkIngredients;
+import org.cyclops.integratedtunnels.core.TunnelSleepHelpers;
+import org.cyclops.integratedtunnels.core.network.ChannelIndexSnapshots;
+
+import javax.annotation.Nullable;
+import java.util.AbstractCollection;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+
+/**
+ * A predicate that moves from a network channel by looking up the channel instances that match another predicate.
+ *
+ * This only applies to predicates of which the result does not depend on the quantity of instances,
+ * so that the matches remain valid when quantities in the channel change.
+ * For blacklist predicates that declare their excluded prototypes, the matches are all channel instances
+ * that do not match any excluded prototype with the index match flags, without testing the predicate itself.
+ * The matches are determined lazily over a snapshot of the channel, so that only as many instances are tested
+ * as are needed for the movement.
+ * They are cached by predicate, network and channel until the next server tick,
+ * or until something is inserted into the channel,
+ * so that all parts with an equal predicate on the same channel share the evaluation.
+ * @param <T> The instance type.
+ * @param <M> The matching condition parameter.
+ * @author rubensworks
+ */
+public class IngredientPredicateChannelMatches<T, M> extends IngredientPredicate<T, M> {
+
+    private static final Map<Key, Matches<?>> MATCHES = Maps.newHashMap();
+    private static long matchesTick = -1;
+
+    private final IngredientPredicate<T, M> predicate;
+    private final IPositionedAddonsNetworkIngredients<T, M> network;
+    private final int channel;
+    private Collection<T> indexPrototypes;
+
+    protected IngredientPredicateChannelMatches(IngredientPredicate<T, M> predicate,
+                                                IPositionedAddonsNetworkIngredients<T, M> network, int channel) {
+        super(predicate.getIngredientComponent(), predicate.getInstance(), predicate.getMatchFlags(),
+                predicate.isBlacklist(), predicate.isEmpty(), predicate.getMaxQuantity(), predicate.isExactQuantity());
+        this.predicate = predicate;
+        this.network = network;
+        this.channel = channel;
+    }
+
+    /**
+     * Wrap the given predicate for moving from the given network channel,
+     * if it has no match flags, does not depend on quantities,
+     * and can not be expressed as index lookups by itself.
+     * @param predicate A predicate.
+     * @param network The network to move from.
+     * @param channel The channel to move from.
+     * @param <T> The instance type.
+     * @param <M> The matching condition parameter.
+     * @return The wrapped predicate, or the predicate itself.
+     */
+    public static <T, M> IngredientPredicate<T, M> of(IngredientPredicate<T, M> predicate,
+                                                      IPositionedAddonsNetworkIngredients<T, M> network, int channel) {
+        if (predicate.hasMatchFlags() || predicate.isExactQuantity() || predicate.isEmpty()
+                || predicate.getIndexPrototypes() != null
+                || (!predicate.isQuantityIndependent() && predicate.getExcludedPrototypes() == null)) {
+            return predicate;
+        }
+        return new IngredientPredicateChannelMatches<>(predicate, network, channel);
+    }
+
+    /**
+     * Forget the matches of the given channel, for when something was inserted into it.
+     * @param network A network.
+     * @param channel A channel.
+     */
+    public static void invalidate(IPositionedAddonsNetworkIngredients<?, ?> network, int channel) {
+        if (!MATCHES.isEmpty()) {
+            MATCHES.keySet().removeIf(key -> key.network == network && key.channel == channel);
+        }
+    }
+
+    /**
+     * Forget all matches, for when the server stops.
+     */
+    public static void clear() {
+        MATCHES.clear();
+        matchesTick = -1;
+    }
+
+    @Override
+    public boolean isQuantityIndependent() {
+        return true;
+    }
+
+    @Override
+    public boolean test(@Nullable T input) {
+        return predicate.test(input);
+    }
+
+    @Override
+    public BitSet testAll(List<T> instances) {
+        return predicate.testAll(instances);
+    }
+
+    @Override
+    public Collection<T> getIndexPrototypes() {
+        if (indexPrototypes == null) {
+            indexPrototypes = getMatches();
+        }
+        return indexPrototypes;
+    }
+
+    @Override
+    public M getIndexMatchFlags() {
+        return getIngredientComponent().getMatcher().getExactMatchNoQuantityCondition();
+    }
+
+    protected Collection<T> getMatches() {
+        long tick = TunnelSleepHelpers.getTick();
+        if (tick != matchesTick) {
+            MATCHES.clear();
+            matchesTick = tick;
+        }
+        return (Collection<T>) MATCHES.computeIfAbsent(new Key(predicate, network, channel),
+                key -> new Matches<>(getIngredientComponent().getMatcher(), getFilter(),
+                        ChannelIndexSnapshots.get(network, channel).getInstances(), getMaxQuantity()));
+    }
+
+    protected Predicate<T> getFilter() {
+        Collection<T> excludedPrototypes = predicate.getExcludedPrototypes();
+        if (excludedPrototypes == null) {
+            return predicate;
+        }
+        IIngredientMatcher<T, M> matcher = getIngredientComponent().getMatcher();
+        M matchFlags = predicate.getIndexMatchFlags();
+        return instance -> {
+            for (T excludedPrototype : excludedPrototypes) {
+                if (matcher.matches(excludedPrototype, instance, matchFlags)) {
+                    return false;
+                }
+            }
+            return true;
+        };
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (!(obj instanceof IngredientPredicateChannelMatches)) {
+            return false;
+        }
+        IngredientPredicateChannelMatches<?, ?> that = (IngredientPredicateChannelMatches<?, ?>) obj;
+        return this.predicate.equals(that.predicate)
+                && this.network == that.network
+                && this.channel == that.channel;
+    }
+
+    @Override
+    public int hashCode() {
+        return predicate.hashCode() ^ System.identityHashCode(network) ^ channel;
+    }
+
+    /**
+     * The prototypes of the instances in a snapshot that pass a filter,
+     * where instances are only tested once they are iterated over.
+     */
+    private static class Matches<T> extends AbstractCollection<T> {
+        private final IIngredientMatcher<T, ?> matcher;
+        private final Predicate<T> filter;
+        private final List<T> snapshot;
+        private final int maxQuantity;
+        private final List<T> prototypes = Lists.newArrayList();
+        private int tested = 0;
+
+        private Matches(IIngredientMatcher<T, ?> matcher, Predicate<T> filter, List<T> snapshot, int maxQuantity) {
+            this.matcher = matcher;
+            this.filter = filter;
+            this.snapshot = snapshot;
+            this.maxQuantity = maxQuantity;
+        }
+
+        /**
+         * Test instances in the snapshot until a new match is found or the snapshot is exhausted.
+         * @return If a new match was found.
+         */
+        private boolean testNext() {
+            while (tested < snapshot.size()) {
+                T instance = snapshot.get(tested++);
+                if (filter.test(instance)) {
+                    prototypes.add(matcher.withQuantity(instance, maxQuantity));
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            return new Iterator<T>() {
+                private int index = 0;
+
+                @Override
+                public boolean hasNext() {
+                    return index < prototypes.size() || testNext();
+                }
+
+                @Override
+                public T next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    return prototypes.get(index++);
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            while (testNext());
+            return prototypes.size();
+        }
+    }
+
+    private static class Key {
+        private final IngredientPredicate<?, ?> predicate;
+        private final IPositionedAddonsNetworkIngredients<?, ?> network;
+        private final int channel;
+        private final int hash;
+
+        private Key(IngredientPredicate<?, ?> predicate, IPositionedAddonsNetworkIngredients<?, ?> network, int channel) {
+            this.predicate = predicate;
+            this.network = network;
+            this.channel = channel;
+            this.hash = predicate.hashCode() ^ System.identityHashCode(network) ^ channel;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key that = (Key) obj;
+            return this.network == that.network && this.channel == that.channel && this.predicate.equals(that.predicate);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+}
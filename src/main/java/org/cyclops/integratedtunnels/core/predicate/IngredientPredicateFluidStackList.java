@@ -1,12 +1,19 @@
 package org.cyclops.integratedtunnels.core.predicate;
 
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import net.minecraftforge.fluids.FluidStack;
+import org.cyclops.commoncapabilities.api.capability.fluidhandler.FluidMatch;
 import org.cyclops.commoncapabilities.api.ingredient.IngredientComponent;
 import org.cyclops.integrateddynamics.api.evaluate.variable.IValueTypeListProxy;
 import org.cyclops.integrateddynamics.core.evaluate.variable.ValueObjectTypeFluidStack;
 import org.cyclops.integratedtunnels.core.TunnelFluidHelpers;
 
 import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 /**
  * @author rubensworks
@@ -17,6 +24,8 @@ public class IngredientPredicateFluidStackList extends IngredientPredicate<Fluid
     private final boolean checkFluid;
     private final boolean checkAmount;
     private final boolean checkNbt;
+    private IngredientListIndex<FluidStack> index;
+    private List<FluidStack> indexPrototypes;
 
     public IngredientPredicateFluidStackList(boolean blacklist, int amount, boolean exactAmount, IValueTypeListProxy<ValueObjectTypeFluidStack, ValueObjectTypeFluidStack.ValueFluidStack> fluidStacks, boolean checkFluid, boolean checkAmount, boolean checkNbt) {
         super(IngredientComponent.FLUIDSTACK, blacklist, false, amount, exactAmount);
@@ -27,15 +36,57 @@ public class IngredientPredicateFluidStackList extends IngredientPredicate<Fluid
         this.checkNbt = checkNbt;
     }
 
+    @Override
+    public boolean isQuantityIndependent() {
+        return true;
+    }
+
     @Override
     public boolean test(@Nullable FluidStack input) {
-        for (ValueObjectTypeFluidStack.ValueFluidStack fluidStack : fluidStacks) {
-            if (!fluidStack.getRawValue().isEmpty()
-                    && TunnelFluidHelpers.areFluidStackEqual(input, fluidStack.getRawValue(), checkFluid, false, checkNbt)) { // TODO: hardcoded 'false' may have to be removed when restoring exact amount
-                return !blacklist;
+        return getIndex().matchesAny(input) != blacklist;
+    }
+
+    protected IngredientListIndex<FluidStack> getIndex() {
+        if (index == null) {
+            // Deduplicate equal fluids, as they would only lead to redundant matches and moves
+            Map<FluidKey, FluidStack> instances = Maps.newLinkedHashMap();
+            for (ValueObjectTypeFluidStack.ValueFluidStack fluidStack : fluidStacks) {
+                if (!fluidStack.getRawValue().isEmpty()) {
+                    instances.putIfAbsent(FluidKey.of(fluidStack.getRawValue()), fluidStack.getRawValue());
+                }
             }
+            index = new IngredientListIndex<>(instances.values(),
+                    instance -> checkFluid ? instance.getFluid() : null,
+                    instance -> checkNbt ? Objects.hashCode(instance.getTag()) : 0,
+                    (instance, listInstance) -> TunnelFluidHelpers.areFluidStackEqual(instance, listInstance, checkFluid, false, checkNbt)); // TODO: hardcoded 'false' may have to be removed when restoring exact amount
+        }
+        return index;
+    }
+
+    @Nullable
+    @Override
+    public Collection<FluidStack> getIndexPrototypes() {
+        if (blacklist) {
+            return null;
         }
-        return blacklist;
+        if (indexPrototypes == null) {
+            indexPrototypes = Lists.newArrayList();
+            for (FluidStack fluidStack : getIndex().getInstances()) {
+                indexPrototypes.add(TunnelFluidHelpers.prototypeWithCount(fluidStack, getMaxQuantity()));
+            }
+        }
+        return indexPrototypes;
+    }
+
+    @Nullable
+    @Override
+    public Collection<FluidStack> getExcludedPrototypes() {
+        return blacklist ? getIndex().getInstances() : null;
+    }
+
+    @Override
+    public Integer getIndexMatchFlags() {
+        return (checkFluid ? FluidMatch.FLUID : FluidMatch.ANY) | (checkNbt ? FluidMatch.TAG : FluidMatch.ANY);
     }
 
     @Override
@@ -53,8 +104,8 @@ public class IngredientPredicateFluidStackList extends IngredientPredicate<Fluid
     }
 
     @Override
-    public int hashCode() {
-        return super.hashCode()
+    protected int computeHashCode() {
+        return super.computeHashCode()
                 ^ (this.blacklist ? 1 : 0) << 1
                 ^ (this.checkFluid ? 1 : 0) << 2
                 ^ (this.checkAmount ? 1 : 0) << 3
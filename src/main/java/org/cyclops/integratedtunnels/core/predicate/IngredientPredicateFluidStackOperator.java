@@ -12,6 +12,7 @@ import org.cyclops.integrateddynamics.core.evaluate.variable.ValueHelpers;
 import org.cyclops.integrateddynamics.core.evaluate.variable.ValueObjectTypeFluidStack;
 import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypeBoolean;
 import org.cyclops.integrateddynamics.core.helper.PartHelpers;
+import org.cyclops.integratedtunnels.GeneralConfig;
 
 import javax.annotation.Nullable;
 
@@ -21,15 +22,36 @@ import javax.annotation.Nullable;
 public class IngredientPredicateFluidStackOperator extends IngredientPredicate<FluidStack, Integer> {
     private final IOperator predicate;
     private final PartTarget partTarget;
+    private final boolean cacheResults;
+    private final IngredientResultCache<FluidStack> resultCache;
 
     public IngredientPredicateFluidStackOperator(int amount, boolean exactAmount, IOperator predicate, PartTarget partTarget) {
+        this(amount, exactAmount, predicate, partTarget, true);
+    }
+
+    public IngredientPredicateFluidStackOperator(int amount, boolean exactAmount, IOperator predicate, PartTarget partTarget,
+                                                 boolean cacheResults) {
         super(IngredientComponent.FLUIDSTACK, false, false, amount, exactAmount);
         this.predicate = predicate;
         this.partTarget = partTarget;
+        this.cacheResults = cacheResults;
+        // Operators of which the result may change for the same instance can opt out of caching
+        this.resultCache = new IngredientResultCache<>(IngredientComponent.FLUIDSTACK, FluidStack::copy,
+                cacheResults ? GeneralConfig.operatorPredicateCacheSize : 0);
     }
 
     @Override
     public boolean test(@Nullable FluidStack input) {
+        Boolean result = resultCache.get(input, this::evaluate);
+        return result != null && result;
+    }
+
+    /**
+     * @param input An instance.
+     * @return The operator result, or null if evaluation failed.
+     */
+    @Nullable
+    protected Boolean evaluate(@Nullable FluidStack input) {
         ValueObjectTypeFluidStack.ValueFluidStack valueFluidStack = ValueObjectTypeFluidStack.ValueFluidStack.of(input);
         try {
             IValue result = ValueHelpers.evaluateOperator(predicate, valueFluidStack);
@@ -42,7 +64,7 @@ public class IngredientPredicateFluidStackOperator extends IngredientPredicate<F
                 partState.addError(partState.getActiveAspect(), (MutableComponent) e.getErrorMessage());
                 partState.setDeactivated(true);
             }
-            return false;
+            return null;
         }
     }
 
@@ -53,13 +75,15 @@ public class IngredientPredicateFluidStackOperator extends IngredientPredicate<F
         }
         IngredientPredicateFluidStackOperator that = (IngredientPredicateFluidStackOperator) obj;
         return super.equals(obj)
+                && this.cacheResults == that.cacheResults
                 && this.predicate.equals(that.predicate)
                 && this.partTarget.equals(that.partTarget);
     }
 
     @Override
-    public int hashCode() {
-        return super.hashCode()
+    protected int computeHashCode() {
+        return super.computeHashCode()
+                ^ Boolean.hashCode(this.cacheResults)
                 ^ this.predicate.hashCode()
                 ^ this.partTarget.hashCode();
     }
@@ -1,12 +1,19 @@
 package org.cyclops.integratedtunnels.core.predicate;
 
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import net.minecraft.world.item.ItemStack;
+import org.cyclops.commoncapabilities.api.capability.itemhandler.ItemMatch;
 import org.cyclops.commoncapabilities.api.ingredient.IngredientComponent;
 import org.cyclops.integrateddynamics.api.evaluate.variable.IValueTypeListProxy;
 import org.cyclops.integrateddynamics.core.evaluate.variable.ValueObjectTypeItemStack;
 import org.cyclops.integratedtunnels.core.TunnelItemHelpers;
 
 import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 /**
  * @author rubensworks
@@ -17,6 +24,8 @@ public class IngredientPredicateItemStackList extends IngredientPredicate<ItemSt
     private final boolean checkStackSize;
     private final boolean checkItem;
     private final boolean checkNbt;
+    private IngredientListIndex<ItemStack> index;
+    private List<ItemStack> indexPrototypes;
 
     public IngredientPredicateItemStackList(boolean blacklist, int amount, boolean exactAmount, IValueTypeListProxy<ValueObjectTypeItemStack, ValueObjectTypeItemStack.ValueItemStack> itemStacks, boolean checkStackSize, boolean checkItem, boolean checkNbt) {
         super(IngredientComponent.ITEMSTACK, blacklist, false, amount, exactAmount);
@@ -27,15 +36,57 @@ public class IngredientPredicateItemStackList extends IngredientPredicate<ItemSt
         this.checkNbt = checkNbt;
     }
 
+    @Override
+    public boolean isQuantityIndependent() {
+        return true;
+    }
+
     @Override
     public boolean test(@Nullable ItemStack input) {
-        for (ValueObjectTypeItemStack.ValueItemStack itemStack : itemStacks) {
-            if (!itemStack.getRawValue().isEmpty()
-                    && TunnelItemHelpers.areItemStackEqual(input, itemStack.getRawValue(), false, checkItem, checkNbt)) { // TODO: hardcoded 'false' may have to be removed when restoring exact amount
-                return !blacklist;
+        return getIndex().matchesAny(input) != blacklist;
+    }
+
+    protected IngredientListIndex<ItemStack> getIndex() {
+        if (index == null) {
+            // Deduplicate equal items, as they would only lead to redundant matches and moves
+            Map<ItemKey, ItemStack> instances = Maps.newLinkedHashMap();
+            for (ValueObjectTypeItemStack.ValueItemStack itemStack : itemStacks) {
+                if (!itemStack.getRawValue().isEmpty()) {
+                    instances.putIfAbsent(ItemKey.of(itemStack.getRawValue()), itemStack.getRawValue());
+                }
             }
+            index = new IngredientListIndex<>(instances.values(),
+                    instance -> checkItem ? instance.getItem() : null,
+                    instance -> checkNbt ? Objects.hashCode(instance.getTag()) : 0,
+                    (instance, listInstance) -> TunnelItemHelpers.areItemStackEqual(instance, listInstance, false, checkItem, checkNbt)); // TODO: hardcoded 'false' may have to be removed when restoring exact amount
+        }
+        return index;
+    }
+
+    @Nullable
+    @Override
+    public Collection<ItemStack> getIndexPrototypes() {
+        if (blacklist) {
+            return null;
         }
-        return blacklist;
+        if (indexPrototypes == null) {
+            indexPrototypes = Lists.newArrayList();
+            for (ItemStack itemStack : getIndex().getInstances()) {
+                indexPrototypes.add(TunnelItemHelpers.prototypeWithCount(itemStack, getMaxQuantity()));
+            }
+        }
+        return indexPrototypes;
+    }
+
+    @Nullable
+    @Override
+    public Collection<ItemStack> getExcludedPrototypes() {
+        return blacklist ? getIndex().getInstances() : null;
+    }
+
+    @Override
+    public Integer getIndexMatchFlags() {
+        return (checkItem ? ItemMatch.ITEM : ItemMatch.ANY) | (checkNbt ? ItemMatch.TAG : ItemMatch.ANY);
     }
 
     @Override
@@ -53,8 +104,8 @@ public class IngredientPredicateItemStackList extends IngredientPredicate<ItemSt
     }
 
     @Override
-    public int hashCode() {
-        return super.hashCode()
+    protected int computeHashCode() {
+        return super.computeHashCode()
                 ^ (this.blacklist ? 1 : 0) << 1
                 ^ (this.checkItem ? 1 : 0) << 2
                 ^ (this.checkStackSize ? 1 : 0) << 3
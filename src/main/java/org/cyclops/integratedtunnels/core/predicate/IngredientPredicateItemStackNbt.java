@@ -4,7 +4,6 @@ import net.minecraft.world.item.ItemStack;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.Tag;
 import org.cyclops.commoncapabilities.api.ingredient.IngredientComponent;
-import org.cyclops.integrateddynamics.core.helper.NbtHelpers;
 
 import javax.annotation.Nullable;
 import java.util.Optional;
@@ -17,6 +16,8 @@ public class IngredientPredicateItemStackNbt extends IngredientPredicate<ItemSta
     private final boolean requireNbt;
     private final boolean subset;
     private final Optional<CompoundTag> tag;
+    @Nullable
+    private final NbtSubsetMatcher matcher;
     private final boolean recursive;
     private final boolean superset;
 
@@ -27,17 +28,23 @@ public class IngredientPredicateItemStackNbt extends IngredientPredicate<ItemSta
         this.subset = subset;
         this.tag = tag.filter(t -> t instanceof CompoundTag).map(t -> (CompoundTag) t);
         this.recursive = recursive;
+        this.matcher = this.tag.map(t -> new NbtSubsetMatcher(t, recursive)).orElse(null);
         this.superset = superset;
     }
 
+    @Override
+    public boolean isQuantityIndependent() {
+        return true;
+    }
+
     @Override
     public boolean test(@Nullable ItemStack input) {
         if (!input.hasTag() && requireNbt) {
             return isBlacklist();
         }
-        CompoundTag itemTag = input.hasTag() ? input.getTag() : new CompoundTag();
-        boolean ret = (!subset || tag.map(t -> NbtHelpers.nbtMatchesSubset(t, itemTag, recursive)).orElse(false)
-                && (!superset || tag.map(t -> NbtHelpers.nbtMatchesSubset(itemTag, t, recursive)).orElse(false)));
+        CompoundTag itemTag = input.hasTag() ? input.getTag() : NbtSubsetMatcher.EMPTY;
+        boolean ret = (!subset || matcher != null && matcher.isSubsetOf(itemTag)
+                && (!superset || matcher != null && matcher.isSupersetOf(itemTag)));
         if (blacklist) {
             ret = !ret;
         }
@@ -60,8 +67,8 @@ public class IngredientPredicateItemStackNbt extends IngredientPredicate<ItemSta
     }
 
     @Override
-    public int hashCode() {
-        return super.hashCode()
+    protected int computeHashCode() {
+        return super.computeHashCode()
                 ^ (this.blacklist ? 1 : 0) << 1
                 ^ (this.requireNbt ? 1 : 0) << 2
                 ^ (this.subset ? 1 : 0) << 3
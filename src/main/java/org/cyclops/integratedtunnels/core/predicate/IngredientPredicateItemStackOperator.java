@@ -12,6 +12,7 @@ import org.cyclops.integrateddynamics.core.evaluate.variable.ValueHelpers;
 import org.cyclops.integrateddynamics.core.evaluate.variable.ValueObjectTypeItemStack;
 import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypeBoolean;
 import org.cyclops.integrateddynamics.core.helper.PartHelpers;
+import org.cyclops.integratedtunnels.GeneralConfig;
 
 import javax.annotation.Nullable;
 
@@ -21,15 +22,36 @@ import javax.annotation.Nullable;
 public class IngredientPredicateItemStackOperator extends IngredientPredicate<ItemStack, Integer> {
     private final IOperator predicate;
     private final PartTarget partTarget;
+    private final boolean cacheResults;
+    private final IngredientResultCache<ItemStack> resultCache;
 
     public IngredientPredicateItemStackOperator(int amount, boolean exactAmount, IOperator predicate, PartTarget partTarget) {
+        this(amount, exactAmount, predicate, partTarget, true);
+    }
+
+    public IngredientPredicateItemStackOperator(int amount, boolean exactAmount, IOperator predicate, PartTarget partTarget,
+                                                 boolean cacheResults) {
         super(IngredientComponent.ITEMSTACK, false, false, amount, exactAmount);
         this.predicate = predicate;
         this.partTarget = partTarget;
+        this.cacheResults = cacheResults;
+        // Operators of which the result may change for the same instance can opt out of caching
+        this.resultCache = new IngredientResultCache<>(IngredientComponent.ITEMSTACK, ItemStack::copy,
+                cacheResults ? GeneralConfig.operatorPredicateCacheSize : 0);
     }
 
     @Override
     public boolean test(@Nullable ItemStack input) {
+        Boolean result = resultCache.get(input, this::evaluate);
+        return result != null && result;
+    }
+
+    /**
+     * @param input An instance.
+     * @return The operator result, or null if evaluation failed.
+     */
+    @Nullable
+    protected Boolean evaluate(@Nullable ItemStack input) {
         ValueObjectTypeItemStack.ValueItemStack valueItemStack = ValueObjectTypeItemStack.ValueItemStack.of(input);
         try {
             IValue result = ValueHelpers.evaluateOperator(predicate, valueItemStack);
@@ -42,7 +64,7 @@ public class IngredientPredicateItemStackOperator extends IngredientPredicate<It
                 partState.addError(partState.getActiveAspect(), (MutableComponent) e.getErrorMessage());
                 partState.setDeactivated(true);
             }
-            return false;
+            return null;
         }
     }
 
@@ -53,13 +75,15 @@ public class IngredientPredicateItemStackOperator extends IngredientPredicate<It
         }
         IngredientPredicateItemStackOperator that = (IngredientPredicateItemStackOperator) obj;
         return super.equals(obj)
+                && this.cacheResults == that.cacheResults
                 && this.predicate.equals(that.predicate)
                 && this.partTarget.equals(that.partTarget);
     }
 
     @Override
-    public int hashCode() {
-        return super.hashCode()
+    protected int computeHashCode() {
+        return super.computeHashCode()
+                ^ Boolean.hashCode(this.cacheResults)
                 ^ this.predicate.hashCode()
                 ^ this.partTarget.hashCode();
     }
@@ -0,0 +1,107 @@
+package org.cyclops.integratedtunnels.core.predicate;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+
+import java.lang.ref.WeakReference;
+import java.util.function.Supplier;
+
+/**
+ * A pool of canonical predicate instances, so that equal predicates are shared across parts and ticks.
+ *
+ * Predicates are interned by equality, so identity-based caches that are keyed by predicates remain effective.
+ * Additionally, predicates can be looked up by the identity of the value they were created from,
+ * together with their other parameters, so that unchanged values do not create any new predicates.
+ * As predicates usually refer to the value they were created from, values are only referenced weakly by the pool,
+ * and entries are dropped once their predicate is not used anymore.
+ * @author rubensworks
+ */
+public class IngredientPredicatePool {
+
+    private static final int MAX_CACHED_VALUES = 4096;
+    private static final Interner<IngredientPredicate<?, ?>> INTERNER = Interners.newWeakInterner();
+    private static final Cache<ValueKey, IngredientPredicate<?, ?>> CACHE = CacheBuilder.newBuilder()
+            .weakValues()
+            .maximumSize(MAX_CACHED_VALUES)
+            .build();
+
+    /**
+     * @param predicate A predicate.
+     * @param <P> The predicate type.
+     * @return The canonical instance that is equal to the given predicate.
+     */
+    public static <P extends IngredientPredicate<?, ?>> P intern(P predicate) {
+        return (P) INTERNER.intern(predicate);
+    }
+
+    /**
+     * Get the canonical predicate for the given value and parameters, or create it if it does not exist yet.
+     * @param value The value the predicate is created from, which is compared by identity.
+     * @param parameters The other parameters the predicate is created from, see {@link #parameters(int, boolean...)}.
+     * @param factory A factory for the predicate.
+     * @param <P> The predicate type.
+     * @return The canonical predicate.
+     */
+    public static <P extends IngredientPredicate<?, ?>> P get(Object value, long parameters, Supplier<P> factory) {
+        ValueKey key = new ValueKey(value, parameters);
+        P predicate = (P) CACHE.getIfPresent(key);
+        if (predicate == null) {
+            predicate = intern(factory.get());
+            CACHE.put(key, predicate);
+        }
+        return predicate;
+    }
+
+    /**
+     * Pack predicate parameters into a single key.
+     * @param amount An amount.
+     * @param flags At most 32 flags.
+     * @return The packed parameters.
+     */
+    public static long parameters(int amount, boolean... flags) {
+        long parameters = ((long) amount) << 32;
+        for (int i = 0; i < flags.length; i++) {
+            if (flags[i]) {
+                parameters |= 1L << i;
+            }
+        }
+        return parameters;
+    }
+
+    /**
+     * A key that weakly refers to a value by identity, together with parameters.
+     */
+    private static class ValueKey {
+        private final WeakReference<Object> value;
+        private final long parameters;
+        private final int hash;
+
+        private ValueKey(Object value, long parameters) {
+            this.value = new WeakReference<>(value);
+            this.parameters = parameters;
+            this.hash = System.identityHashCode(value) * 31 + Long.hashCode(parameters);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof ValueKey)) {
+                return false;
+            }
+            ValueKey that = (ValueKey) obj;
+            Object value = this.value.get();
+            return this.hash == that.hash && this.parameters == that.parameters
+                    && value != null && value == that.value.get();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+}
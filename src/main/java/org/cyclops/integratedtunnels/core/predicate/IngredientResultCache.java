@@ -0,0 +1,85 @@
+package org.cyclops.integratedtunnels.core.predicate;
+
+import org.cyclops.commoncapabilities.api.ingredient.IIngredientMatcher;
+import org.cyclops.commoncapabilities.api.ingredient.IngredientComponent;
+
+import javax.annotation.Nullable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * A bounded least-recently-used cache of boolean results for ingredient instances,
+ * where instances are compared exactly, including their quantity and NBT tag.
+ * @param <T> The instance type.
+ * @author rubensworks
+ */
+public class IngredientResultCache<T> {
+
+    private final IIngredientMatcher<T, ?> matcher;
+    private final UnaryOperator<T> copier;
+    private final int maxSize;
+    private final Map<Key<T>, Boolean> results;
+
+    /**
+     * @param ingredientComponent The ingredient component.
+     * @param copier A function to copy instances, as cached instances may not be modified afterwards.
+     * @param maxSize The maximum number of cached results, no results will be cached if zero.
+     */
+    public IngredientResultCache(IngredientComponent<T, ?> ingredientComponent, UnaryOperator<T> copier, int maxSize) {
+        this.matcher = ingredientComponent.getMatcher();
+        this.copier = copier;
+        this.maxSize = maxSize;
+        this.results = new LinkedHashMap<Key<T>, Boolean>(16, 0.75F, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key<T>, Boolean> eldest) {
+                return size() > IngredientResultCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * Get the cached result for the given instance, or compute it.
+     * @param instance An instance.
+     * @param evaluator The function to compute the result, which may return null if it should not be cached.
+     * @return The result, or null if it could not be computed.
+     */
+    @Nullable
+    public Boolean get(@Nullable T instance, Function<T, Boolean> evaluator) {
+        if (instance == null || maxSize <= 0) {
+            return evaluator.apply(instance);
+        }
+        Boolean result = results.get(new Key<>(matcher, instance));
+        if (result == null) {
+            result = evaluator.apply(instance);
+            if (result != null) {
+                results.put(new Key<>(matcher, copier.apply(instance)), result);
+            }
+        }
+        return result;
+    }
+
+    private static class Key<T> {
+        private final IIngredientMatcher<T, ?> matcher;
+        private final T instance;
+        private final int hash;
+
+        private Key(IIngredientMatcher<T, ?> matcher, T instance) {
+            this.matcher = matcher;
+            this.instance = instance;
+            this.hash = matcher.hash(instance);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Key && matcher.matchesExactly(instance, ((Key<T>) obj).instance);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+}
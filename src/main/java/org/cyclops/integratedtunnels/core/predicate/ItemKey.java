@@ -0,0 +1,52 @@
+package org.cyclops.integratedtunnels.core.predicate;
+
+import net.minecraft.world.item.ItemStack;
+import org.cyclops.integratedtunnels.core.TunnelItemHelpers;
+
+import java.util.Objects;
+
+/**
+ * A key for an item and its tag, disregarding the stack size,
+ * for deduplicating item stacks in hash-based collections.
+ *
+ * The key refers to the given item stack without copying it,
+ * so the stack may not be modified while the key is in use.
+ * @author rubensworks
+ */
+public final class ItemKey {
+
+    private final ItemStack itemStack;
+    private final int hash;
+
+    private ItemKey(ItemStack itemStack) {
+        this.itemStack = itemStack;
+        this.hash = itemStack.getItem().hashCode() * 31 + Objects.hashCode(itemStack.getTag());
+    }
+
+    /**
+     * @param itemStack An item stack, which will not be modified.
+     * @return A key for the given item stack.
+     */
+    public static ItemKey of(ItemStack itemStack) {
+        return new ItemKey(itemStack);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof ItemKey)) {
+            return false;
+        }
+        ItemKey that = (ItemKey) obj;
+        return this.hash == that.hash
+                && TunnelItemHelpers.areItemStackEqual(this.itemStack, that.itemStack, false, true, true);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+}
@@ -0,0 +1,153 @@
+package org.cyclops.integratedtunnels.core.predicate;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.Tag;
+import org.cyclops.integrateddynamics.core.helper.NbtHelpers;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A reference NBT tag that is compiled for repeatedly checking subset and superset relations with other tags,
+ * with the same semantics as {@link NbtHelpers#nbtMatchesSubset(CompoundTag, CompoundTag, boolean)}.
+ *
+ * The reference tag is flattened into the paths of its values,
+ * where the top-level paths are checked first, so that most tags are rejected early without allocating anything.
+ * Compiled matchers are stored in the predicates that use them, which are pooled per reference tag,
+ * so they are reused across ticks.
+ * @author rubensworks
+ */
+public class NbtSubsetMatcher {
+
+    public static final CompoundTag EMPTY = new CompoundTag();
+
+    private final CompoundTag reference;
+    private final boolean recursive;
+    private final String[] topLevelKeys;
+    private final byte[] topLevelTypes;
+    private final Set<String> topLevelKeySet;
+    private final List<Entry> entries = Lists.newArrayList();
+
+    /**
+     * Compile the given reference tag.
+     * @param reference A reference tag, which may not be modified afterwards.
+     * @param recursive If nested compounds and lists should be matched recursively.
+     */
+    public NbtSubsetMatcher(CompoundTag reference, boolean recursive) {
+        this.reference = reference;
+        this.recursive = recursive;
+        this.topLevelKeySet = Sets.newHashSet(reference.getAllKeys());
+        this.topLevelKeys = this.topLevelKeySet.toArray(new String[0]);
+        this.topLevelTypes = new byte[this.topLevelKeys.length];
+        for (int i = 0; i < this.topLevelKeys.length; i++) {
+            this.topLevelTypes[i] = reference.get(this.topLevelKeys[i]).getId();
+        }
+        flatten(new String[0], reference);
+    }
+
+    protected void flatten(String[] parentPath, CompoundTag tag) {
+        List<CompoundTag> children = Lists.newArrayList();
+        List<String[]> childPaths = Lists.newArrayList();
+        for (String key : tag.getAllKeys()) {
+            Tag value = tag.get(key);
+            String[] path = new String[parentPath.length + 1];
+            System.arraycopy(parentPath, 0, path, 0, parentPath.length);
+            path[parentPath.length] = key;
+            if (recursive && value instanceof CompoundTag) {
+                // Compounds are only compared recursively, after all values at this level.
+                // Non-empty compounds are checked implicitly by the paths of their values.
+                if (((CompoundTag) value).isEmpty()) {
+                    entries.add(new Entry(path, value, null));
+                } else {
+                    children.add((CompoundTag) value);
+                    childPaths.add(path);
+                }
+            } else if (recursive && value.getId() == Tag.TAG_LIST) {
+                // Lists have their own recursive semantics, so delegate them to a single-key tag
+                CompoundTag wrapper = new CompoundTag();
+                wrapper.put(key, value);
+                entries.add(new Entry(path, value, wrapper));
+            } else {
+                entries.add(new Entry(path, value, null));
+            }
+        }
+        for (int i = 0; i < children.size(); i++) {
+            flatten(childPaths.get(i), children.get(i));
+        }
+    }
+
+    /**
+     * @return The reference tag.
+     */
+    public CompoundTag getReference() {
+        return reference;
+    }
+
+    /**
+     * @param tag A tag.
+     * @return If the reference tag is a subset of the given tag.
+     */
+    public boolean isSubsetOf(CompoundTag tag) {
+        // Early rejection on top-level keys
+        for (int i = 0; i < topLevelKeys.length; i++) {
+            if (!tag.contains(topLevelKeys[i], topLevelTypes[i])) {
+                return false;
+            }
+        }
+        for (Entry entry : entries) {
+            if (!entry.matches(tag, recursive)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param tag A tag.
+     * @return If the given tag is a subset of the reference tag.
+     */
+    public boolean isSupersetOf(CompoundTag tag) {
+        // Early rejection on top-level keys
+        for (String key : tag.getAllKeys()) {
+            if (!topLevelKeySet.contains(key)) {
+                return false;
+            }
+        }
+        return NbtHelpers.nbtMatchesSubset(tag, reference, recursive);
+    }
+
+    private static class Entry {
+        private final String[] path;
+        private final Tag value;
+        private final CompoundTag delegate;
+
+        private Entry(String[] path, Tag value, CompoundTag delegate) {
+            this.path = path;
+            this.value = value;
+            this.delegate = delegate;
+        }
+
+        public boolean matches(CompoundTag tag, boolean recursive) {
+            CompoundTag parent = tag;
+            for (int i = 0; i < path.length - 1; i++) {
+                Tag child = parent.get(path[i]);
+                if (!(child instanceof CompoundTag)) {
+                    return false;
+                }
+                parent = (CompoundTag) child;
+            }
+            if (delegate != null) {
+                return NbtHelpers.nbtMatchesSubset(delegate, parent, true);
+            }
+            Tag actual = parent.get(path[path.length - 1]);
+            if (actual == null || actual.getId() != value.getId()) {
+                return false;
+            }
+            // Empty compounds in recursive mode only need to be present
+            return (recursive && value.getId() == Tag.TAG_COMPOUND) || value.equals(actual);
+        }
+    }
+
+}
@@ -70,6 +70,16 @@ public abstract class ChanneledTarget<N extends IPositionedAddonsNetwork, T> imp
         return passiveIO;
     }
 
+    /**
+     * Intern the given connection in the part state,
+     * so that equal connections over consecutive ticks are the same instance.
+     * @param connection A connection.
+     * @return The interned connection.
+     */
+    protected ITunnelConnection internConnection(ITunnelConnection connection) {
+        return partState != null ? partState.internConnection(connection) : connection;
+    }
+
     @Override
     public void preTransfer() {
         if (isRoundRobin()) {
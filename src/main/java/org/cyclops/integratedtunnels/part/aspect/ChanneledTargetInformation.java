@@ -1,7 +1,11 @@
 package org.cyclops.integratedtunnels.part.aspect;
 
+import org.cyclops.integratedtunnels.core.SlotRanges;
 import org.cyclops.integratedtunnels.core.predicate.IngredientPredicate;
 
+import javax.annotation.Nullable;
+import java.util.Objects;
+
 /**
  * A data holder for channel target information.
  * @param <T> The instance type.
@@ -13,15 +17,24 @@ public class ChanneledTargetInformation<T, M> {
     private final IngredientPredicate<T, M> fluidStackPredicate;
     private final ITunnelTransfer transfer;
     private final int slot;
+    @Nullable
+    private final SlotRanges slots;
 
-    protected ChanneledTargetInformation(IngredientPredicate<T, M> fluidStackPredicate, ITunnelTransfer transfer, int slot) {
+    protected ChanneledTargetInformation(IngredientPredicate<T, M> fluidStackPredicate, ITunnelTransfer transfer, int slot,
+                                         @Nullable SlotRanges slots) {
         this.fluidStackPredicate = fluidStackPredicate;
         this.transfer = transfer;
         this.slot = slot;
+        this.slots = slots;
     }
 
     public static <T, M> ChanneledTargetInformation<T, M> of(IngredientPredicate<T, M> fluidStackPredicate, ITunnelTransfer transfer, int slot) {
-        return new ChanneledTargetInformation<>(fluidStackPredicate, transfer, slot);
+        return of(fluidStackPredicate, transfer, slot, null);
+    }
+
+    public static <T, M> ChanneledTargetInformation<T, M> of(IngredientPredicate<T, M> fluidStackPredicate, ITunnelTransfer transfer, int slot,
+                                                             @Nullable SlotRanges slots) {
+        return new ChanneledTargetInformation<>(fluidStackPredicate, transfer, slot, slots);
     }
 
     public IngredientPredicate<T, M> getIngredientPredicate() {
@@ -35,4 +48,29 @@ public class ChanneledTargetInformation<T, M> {
     public int getSlot() {
         return slot;
     }
+
+    @Nullable
+    public SlotRanges getSlots() {
+        return slots;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof ChanneledTargetInformation)) {
+            return false;
+        }
+        ChanneledTargetInformation<?, ?> that = (ChanneledTargetInformation<?, ?>) obj;
+        return this.slot == that.slot
+                && Objects.equals(this.slots, that.slots)
+                && this.fluidStackPredicate.equals(that.fluidStackPredicate)
+                && this.transfer.equals(that.transfer);
+    }
+
+    @Override
+    public int hashCode() {
+        return this.fluidStackPredicate.hashCode() ^ this.transfer.hashCode() ^ this.slot ^ Objects.hashCode(this.slots);
+    }
 }
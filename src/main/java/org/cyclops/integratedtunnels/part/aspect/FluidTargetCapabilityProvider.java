@@ -35,7 +35,7 @@ public class FluidTargetCapabilityProvider extends ChanneledTargetCapabilityProv
                 properties.getValue(TunnelAspectWriteBuilders.PROP_ROUNDROBIN).getRawValue(),
                 properties.getValue(TunnelAspectWriteBuilders.PROP_CRAFT).getRawValue(),
                 properties.getValue(TunnelAspectWriteBuilders.PROP_PASSIVE_IO).getRawValue());
-        this.connection = new TunnelConnectionPositionedNetworkCapabilityProvider(network, getChannel(), partTarget.getTarget(), transfer, capabilityProvider);
+        this.connection = internConnection(new TunnelConnectionPositionedNetworkCapabilityProvider(network, getChannel(), partTarget.getTarget(), transfer, capabilityProvider));
         this.fluidStackMatcher = fluidStackMatcher;
         this.partTarget = partTarget;
         this.properties = properties;
@@ -32,7 +32,7 @@ public class FluidTargetStorage extends ChanneledTarget<IFluidNetwork, FluidStac
                 properties.getValue(TunnelAspectWriteBuilders.PROP_ROUNDROBIN).getRawValue(),
                 properties.getValue(TunnelAspectWriteBuilders.PROP_CRAFT).getRawValue(),
                 properties.getValue(TunnelAspectWriteBuilders.PROP_PASSIVE_IO).getRawValue());
-        this.connection = new TunnelConnectionPositionedNetwork(network, getChannel(), partTarget.getTarget(), transfer);
+        this.connection = internConnection(new TunnelConnectionPositionedNetwork(network, getChannel(), partTarget.getTarget(), transfer));
         this.storage = storage;
         this.fluidStackMatcher = fluidStackMatcher;
         this.partTarget = partTarget;
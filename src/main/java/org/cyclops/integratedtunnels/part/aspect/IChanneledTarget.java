@@ -7,7 +7,7 @@ import org.cyclops.integrateddynamics.api.network.INetwork;
 import org.cyclops.integrateddynamics.api.network.IPositionedAddonsNetwork;
 import org.cyclops.integrateddynamics.api.part.PartPos;
 import org.cyclops.integrateddynamics.core.helper.NetworkHelpers;
-import org.cyclops.integrateddynamics.core.helper.PartHelpers;
+import org.cyclops.integratedtunnels.core.part.PartStateCache;
 import org.cyclops.integratedtunnels.core.part.PartStatePositionedAddon;
 import org.cyclops.integratedtunnels.core.part.PartStateRoundRobin;
 
@@ -42,6 +42,14 @@ public interface IChanneledTarget<N extends IPositionedAddonsNetwork, T> {
 
     public void postTransfer();
 
+    /**
+     * @return The connection over which movement happens, or null if movement is not tracked for this target.
+     */
+    @Nullable
+    public default ITunnelConnection getConnection() {
+        return null;
+    }
+
     public static INetwork getNetworkChecked(PartPos pos) throws PartStateException {
         INetwork network = NetworkHelpers.getNetwork(pos.getPos().getLevel(true), pos.getPos().getBlockPos(), pos.getSide()).orElse(null);
         if (network == null) {
@@ -53,11 +61,7 @@ public interface IChanneledTarget<N extends IPositionedAddonsNetwork, T> {
 
     @Nullable
     public static PartStateRoundRobin<?> getPartState(PartPos center) {
-        PartHelpers.PartStateHolder<?, ?> partStateHolder = PartHelpers.getPart(center);
-        if (partStateHolder == null) {
-            return null;
-        }
-        return (PartStateRoundRobin<?>) partStateHolder.getState();
+        return (PartStateRoundRobin<?>) PartStateCache.get(center);
     }
 
 }
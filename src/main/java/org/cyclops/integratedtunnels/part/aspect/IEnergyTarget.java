@@ -1,6 +1,7 @@
 package org.cyclops.integratedtunnels.part.aspect;
 
 import net.minecraft.world.entity.Entity;
+import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.entity.BlockEntity;
 import org.cyclops.commoncapabilities.api.ingredient.storage.IIngredientComponentStorage;
 import org.cyclops.integrateddynamics.api.network.IEnergyNetwork;
@@ -8,6 +9,7 @@ import org.cyclops.integrateddynamics.api.network.INetwork;
 import org.cyclops.integrateddynamics.api.part.PartPos;
 import org.cyclops.integrateddynamics.api.part.PartTarget;
 import org.cyclops.integrateddynamics.api.part.aspect.property.IAspectProperties;
+import org.cyclops.integratedtunnels.core.TunnelSleepHelpers;
 import org.cyclops.integratedtunnels.core.part.PartStateRoundRobin;
 
 import javax.annotation.Nullable;
@@ -29,7 +31,10 @@ public interface IEnergyTarget extends IChanneledTarget<IEnergyNetwork, Long> {
         PartPos center = partTarget.getCenter();
         PartPos target = partTarget.getTarget();
         INetwork network = IChanneledTarget.getNetworkChecked(center);
-        BlockEntity tile = target.getPos().getLevel(true).getBlockEntity(target.getPos().getBlockPos());
+        Level world = target.getPos().getLevel(true);
+        // Don't load the target chunk, or access it while it is not ticking
+        BlockEntity tile = TunnelSleepHelpers.isTicking(world, target.getPos().getBlockPos())
+                ? world.getBlockEntity(target.getPos().getBlockPos()) : null;
         PartStateRoundRobin<?> partState = IChanneledTarget.getPartState(center);
         return new EnergyTargetCapabilityProvider(tile, target.getSide(), network, properties, amount, partState);
     }
@@ -1,6 +1,7 @@
 package org.cyclops.integratedtunnels.part.aspect;
 
 import net.minecraft.world.entity.Entity;
+import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraftforge.fluids.FluidStack;
 import org.cyclops.commoncapabilities.api.ingredient.storage.IIngredientComponentStorage;
@@ -9,6 +10,7 @@ import org.cyclops.integrateddynamics.api.part.PartPos;
 import org.cyclops.integrateddynamics.api.part.PartTarget;
 import org.cyclops.integrateddynamics.api.part.aspect.property.IAspectProperties;
 import org.cyclops.integratedtunnels.api.network.IFluidNetwork;
+import org.cyclops.integratedtunnels.core.TunnelSleepHelpers;
 import org.cyclops.integratedtunnels.core.part.PartStateRoundRobin;
 import org.cyclops.integratedtunnels.core.predicate.IngredientPredicate;
 
@@ -36,10 +38,18 @@ public interface IFluidTarget extends IChanneledTarget<IFluidNetwork, FluidStack
         PartPos center = partTarget.getCenter();
         PartPos target = partTarget.getTarget();
         INetwork network = IChanneledTarget.getNetworkChecked(center);
-        BlockEntity tile = target.getPos().getLevel(true).getBlockEntity(target.getPos().getBlockPos());
+        Level world = target.getPos().getLevel(true);
+        // Don't load the target chunk, or access it while it is not ticking
+        boolean ticking = TunnelSleepHelpers.isTicking(world, target.getPos().getBlockPos());
+        BlockEntity tile = ticking ? world.getBlockEntity(target.getPos().getBlockPos()) : null;
         PartStateRoundRobin<?> partState = IChanneledTarget.getPartState(center);
-        return new FluidTargetCapabilityProvider(transfer, network, tile, target.getSide(),
+        IFluidTarget fluidTarget = new FluidTargetCapabilityProvider(transfer, network, tile, target.getSide(),
                 fluidStackMatcher, partTarget, properties, partState);
+        if (!ticking) {
+            // Let the target be reused until the chunk is loaded
+            TunnelSleepHelpers.park(fluidTarget.getConnection(), world, target.getPos().getBlockPos());
+        }
+        return fluidTarget;
     }
 
     public static IFluidTarget ofEntity(ITunnelTransfer transfer, PartTarget partTarget, @Nullable Entity entity,
@@ -2,6 +2,7 @@ package org.cyclops.integratedtunnels.part.aspect;
 
 import net.minecraft.world.entity.Entity;
 import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.entity.BlockEntity;
 import org.cyclops.commoncapabilities.api.ingredient.storage.IIngredientComponentStorage;
 import org.cyclops.integrateddynamics.api.network.INetwork;
@@ -9,6 +10,8 @@ import org.cyclops.integrateddynamics.api.part.PartPos;
 import org.cyclops.integrateddynamics.api.part.PartTarget;
 import org.cyclops.integrateddynamics.api.part.aspect.property.IAspectProperties;
 import org.cyclops.integratedtunnels.api.network.IItemNetwork;
+import org.cyclops.integratedtunnels.core.SlotRanges;
+import org.cyclops.integratedtunnels.core.TunnelSleepHelpers;
 import org.cyclops.integratedtunnels.core.part.PartStateRoundRobin;
 import org.cyclops.integratedtunnels.core.predicate.IngredientPredicate;
 
@@ -25,6 +28,14 @@ public interface IItemTarget extends IChanneledTarget<IItemNetwork, ItemStack> {
 
     public int getSlot();
 
+    /**
+     * @return The slots to move from or to, which take precedence over {@link #getSlot()} if not null.
+     */
+    @Nullable
+    public default SlotRanges getSlots() {
+        return null;
+    }
+
     public IngredientPredicate<ItemStack, Integer> getItemStackMatcher();
 
     public PartTarget getPartTarget();
@@ -35,13 +46,27 @@ public interface IItemTarget extends IChanneledTarget<IItemNetwork, ItemStack> {
 
     public static IItemTarget ofCapabilityProvider(ITunnelTransfer transfer, PartTarget partTarget, IAspectProperties properties,
                                                                     IngredientPredicate<ItemStack, Integer> itemStackMatcher, int slot) {
+        return ofCapabilityProvider(transfer, partTarget, properties, itemStackMatcher, slot, null);
+    }
+
+    public static IItemTarget ofCapabilityProvider(ITunnelTransfer transfer, PartTarget partTarget, IAspectProperties properties,
+                                                                    IngredientPredicate<ItemStack, Integer> itemStackMatcher, int slot,
+                                                                    @Nullable SlotRanges slots) {
         PartPos center = partTarget.getCenter();
         PartPos target = partTarget.getTarget();
         INetwork network = IChanneledTarget.getNetworkChecked(center);
-        BlockEntity tile = target.getPos().getLevel(true).getBlockEntity(target.getPos().getBlockPos());
+        Level world = target.getPos().getLevel(true);
+        // Don't load the target chunk, or access it while it is not ticking
+        boolean ticking = TunnelSleepHelpers.isTicking(world, target.getPos().getBlockPos());
+        BlockEntity tile = ticking ? world.getBlockEntity(target.getPos().getBlockPos()) : null;
         PartStateRoundRobin<?> partState = IChanneledTarget.getPartState(center);
-        return new ItemTargetCapabilityProvider(transfer, network, tile, target.getSide(),
-                slot, itemStackMatcher, partTarget, properties, partState);
+        IItemTarget itemTarget = new ItemTargetCapabilityProvider(transfer, network, tile, target.getSide(),
+                slot, slots, itemStackMatcher, partTarget, properties, partState);
+        if (!ticking) {
+            // Let the target be reused until the chunk is loaded
+            TunnelSleepHelpers.park(itemTarget.getConnection(), world, target.getPos().getBlockPos());
+        }
+        return itemTarget;
     }
 
     public static IItemTarget ofEntity(ITunnelTransfer transfer, PartTarget partTarget,
@@ -52,7 +77,7 @@ public interface IItemTarget extends IChanneledTarget<IItemNetwork, ItemStack> {
         INetwork network = IChanneledTarget.getNetworkChecked(center);
         PartStateRoundRobin<?> partState = IChanneledTarget.getPartState(center);
         return new ItemTargetCapabilityProvider(transfer, network, entity, target.getSide(),
-                slot, itemStackMatcher, partTarget, properties, partState);
+                slot, null, itemStackMatcher, partTarget, properties, partState);
     }
 
     public static IItemTarget ofBlock(ITunnelTransfer transfer, PartTarget partTarget, IAspectProperties properties,
@@ -62,7 +87,7 @@ public interface IItemTarget extends IChanneledTarget<IItemNetwork, ItemStack> {
         INetwork network = IChanneledTarget.getNetworkChecked(center);
         PartStateRoundRobin<?> partState = IChanneledTarget.getPartState(center);
         return new ItemTargetCapabilityProvider(transfer, network, null, target.getSide(),
-                slot, itemStackMatcher, partTarget, properties, partState);
+                slot, null, itemStackMatcher, partTarget, properties, partState);
     }
 
     public static IItemTarget ofStorage(ITunnelTransfer transfer, INetwork network, PartTarget partTarget,
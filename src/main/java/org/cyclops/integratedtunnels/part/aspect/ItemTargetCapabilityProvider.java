@@ -10,6 +10,7 @@ import org.cyclops.integrateddynamics.api.part.PartTarget;
 import org.cyclops.integrateddynamics.api.part.aspect.property.IAspectProperties;
 import org.cyclops.integratedtunnels.api.network.IItemNetwork;
 import org.cyclops.integratedtunnels.capability.network.ItemNetworkConfig;
+import org.cyclops.integratedtunnels.core.SlotRanges;
 import org.cyclops.integratedtunnels.core.part.PartStateRoundRobin;
 import org.cyclops.integratedtunnels.core.predicate.IngredientPredicate;
 
@@ -23,12 +24,14 @@ public class ItemTargetCapabilityProvider extends ChanneledTargetCapabilityProvi
 
     private final ITunnelConnection connection;
     private final int slot;
+    @Nullable
+    private final SlotRanges slots;
     private final IngredientPredicate<ItemStack, Integer> itemStackMatcher;
     private final PartTarget partTarget;
     private final IAspectProperties properties;
 
     public ItemTargetCapabilityProvider(ITunnelTransfer transfer, INetwork network, @Nullable ICapabilityProvider capabilityProvider,
-                                        Direction side, int slot,
+                                        Direction side, int slot, @Nullable SlotRanges slots,
                                         IngredientPredicate<ItemStack, Integer> itemStackMatcher, PartTarget partTarget,
                                         IAspectProperties properties, @Nullable PartStateRoundRobin<?> partState) {
         super(network, capabilityProvider, side, network.getCapability(ItemNetworkConfig.CAPABILITY).orElse(null), partState,
@@ -36,8 +39,9 @@ public class ItemTargetCapabilityProvider extends ChanneledTargetCapabilityProvi
                 properties.getValue(TunnelAspectWriteBuilders.PROP_ROUNDROBIN).getRawValue(),
                 properties.getValue(TunnelAspectWriteBuilders.PROP_CRAFT).getRawValue(),
                 properties.getValue(TunnelAspectWriteBuilders.PROP_PASSIVE_IO).getRawValue());
-        this.connection = new TunnelConnectionPositionedNetworkCapabilityProvider(network, getChannel(), partTarget.getTarget(), transfer, capabilityProvider);
+        this.connection = internConnection(new TunnelConnectionPositionedNetworkCapabilityProvider(network, getChannel(), partTarget.getTarget(), transfer, capabilityProvider));
         this.slot = slot;
+        this.slots = slots;
         this.itemStackMatcher = itemStackMatcher;
         this.partTarget = partTarget;
         this.properties = properties;
@@ -53,6 +57,12 @@ public class ItemTargetCapabilityProvider extends ChanneledTargetCapabilityProvi
         return slot;
     }
 
+    @Nullable
+    @Override
+    public SlotRanges getSlots() {
+        return slots;
+    }
+
     @Override
     public IngredientPredicate<ItemStack, Integer> getItemStackMatcher() {
         return itemStackMatcher;
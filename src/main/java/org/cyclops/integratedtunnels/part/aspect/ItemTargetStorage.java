@@ -33,7 +33,7 @@ public class ItemTargetStorage extends ChanneledTarget<IItemNetwork, ItemStack>
                 properties.getValue(TunnelAspectWriteBuilders.PROP_ROUNDROBIN).getRawValue(),
                 properties.getValue(TunnelAspectWriteBuilders.PROP_CRAFT).getRawValue(),
                 properties.getValue(TunnelAspectWriteBuilders.PROP_PASSIVE_IO).getRawValue());
-        this.connection = new TunnelConnectionPositionedNetwork(network, getChannel(), partTarget.getTarget(), transfer);
+        this.connection = internConnection(new TunnelConnectionPositionedNetwork(network, getChannel(), partTarget.getTarget(), transfer));
         this.storage = storage;
         this.slot = slot;
         this.itemStackMatcher = itemStackMatcher;
@@ -8,21 +8,24 @@ import org.apache.commons.lang3.tuple.Pair;
 import org.cyclops.commoncapabilities.api.ingredient.storage.IIngredientComponentStorage;
 import org.cyclops.cyclopscore.datastructure.DimPos;
 import org.cyclops.integrateddynamics.api.ingredient.IIngredientPositionsIndex;
-import org.cyclops.integrateddynamics.api.network.INetwork;
 import org.cyclops.integrateddynamics.api.network.IPositionedAddonsNetworkIngredients;
 import org.cyclops.integrateddynamics.api.part.PartTarget;
 import org.cyclops.integrateddynamics.api.part.aspect.property.IAspectProperties;
+import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypeDouble;
 import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypeInteger;
 import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypeList;
 import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypeLong;
 import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypeOperator;
-import org.cyclops.integrateddynamics.core.helper.NetworkHelpers;
 import org.cyclops.integrateddynamics.core.part.aspect.build.AspectBuilder;
 import org.cyclops.integrateddynamics.core.part.aspect.build.IAspectValuePropagator;
 import org.cyclops.integrateddynamics.part.aspect.read.AspectReadBuilders;
 import org.cyclops.integratedtunnels.IntegratedTunnels;
 import org.cyclops.integratedtunnels.capability.network.FluidNetworkConfig;
 import org.cyclops.integratedtunnels.capability.network.ItemNetworkConfig;
+import org.cyclops.integratedtunnels.core.network.ChannelIndexDeltas;
+import org.cyclops.integratedtunnels.core.network.ChannelIndexSnapshots;
+import org.cyclops.integratedtunnels.core.network.ChannelThroughputGovernor;
+import org.cyclops.integratedtunnels.core.network.NetworkHandleCache;
 import org.cyclops.integratedtunnels.part.aspect.listproxy.ValueTypeListProxyPositionedFluidNetwork;
 import org.cyclops.integratedtunnels.part.aspect.listproxy.ValueTypeListProxyPositionedItemNetwork;
 
@@ -35,26 +38,53 @@ public class TunnelAspectReadBuilders {
 
     public static final class Network {
 
+        public static <T, M> Optional<IPositionedAddonsNetworkIngredients<T, M>> getIngredientsNetwork(Capability<? extends IPositionedAddonsNetworkIngredients<T, M>> networkCapability,
+                                                                                                       DimPos dimPos, Direction side) {
+            return NetworkHandleCache.getNetworkCapability(networkCapability, dimPos, side);
+        }
+
         public static <T, M> Optional<IIngredientComponentStorage<T, M>> getChannel(Capability<? extends IPositionedAddonsNetworkIngredients<T, M>> networkCapability,
                                                                                     DimPos dimPos, Direction side, int channel) {
-            INetwork network = NetworkHelpers.getNetwork(dimPos.getLevel(true), dimPos.getBlockPos(), side).orElse(null);
-            return Optional.ofNullable(network != null ? network.getCapability(networkCapability)
+            return getIngredientsNetwork(networkCapability, dimPos, side)
                     .map(itemNetwork -> {
                         itemNetwork.scheduleObservation();
                         return itemNetwork.getChannel(channel);
-                    })
-                    .orElse(null) : null);
+                    });
         }
 
         public static <T, M> Optional<IIngredientPositionsIndex<T, M>> getChannelIndex(Capability<? extends IPositionedAddonsNetworkIngredients<T, M>> networkCapability,
                                                                                        DimPos dimPos, Direction side, int channel) {
-            INetwork network = NetworkHelpers.getNetwork(dimPos.getLevel(true), dimPos.getBlockPos(), side).orElse(null);
-            return Optional.ofNullable(network != null ? network.getCapability(networkCapability)
+            return getIngredientsNetwork(networkCapability, dimPos, side)
                     .map(itemNetwork -> {
                         itemNetwork.scheduleObservation();
                         return itemNetwork.getChannelIndex(channel);
+                    });
+        }
+
+        public static <T, M> Optional<ChannelIndexSnapshots.Snapshot<T>> getChannelIndexSnapshot(Capability<? extends IPositionedAddonsNetworkIngredients<T, M>> networkCapability,
+                                                                                                 DimPos dimPos, Direction side, int channel) {
+            return getIngredientsNetwork(networkCapability, dimPos, side)
+                    .map(itemNetwork -> {
+                        itemNetwork.scheduleObservation();
+                        return ChannelIndexSnapshots.get(itemNetwork, channel);
+                    });
+        }
+
+        public static <T, M> long getChannelQuantity(Capability<? extends IPositionedAddonsNetworkIngredients<T, M>> networkCapability,
+                                                     DimPos dimPos, Direction side, int channel, T instance) {
+            return getIngredientsNetwork(networkCapability, dimPos, side)
+                    .map(ingredientsNetwork -> {
+                        ingredientsNetwork.scheduleObservation();
+                        return ChannelIndexDeltas.getQuantity(ingredientsNetwork, channel, instance);
                     })
-                    .orElse(null) : null);
+                    .orElse(0L);
+        }
+
+        public static <T, M> double getUtilisation(Capability<? extends IPositionedAddonsNetworkIngredients<T, M>> networkCapability,
+                                                   DimPos dimPos, Direction side, int channel) {
+            return getIngredientsNetwork(networkCapability, dimPos, side)
+                    .map(ingredientsNetwork -> ChannelThroughputGovernor.getUtilisation(ingredientsNetwork, channel))
+                    .orElse(0D);
         }
 
         public static final class Item {
@@ -70,6 +100,10 @@ public class TunnelAspectReadBuilders {
                     BUILDER_LONG = AspectReadBuilders.BUILDER_LONG.byMod(IntegratedTunnels._instance)
                     .withProperties(AspectReadBuilders.Network.PROPERTIES)
                     .appendKind("itemnetwork");
+            public static final AspectBuilder<ValueTypeDouble.ValueDouble, ValueTypeDouble, Pair<PartTarget, IAspectProperties>>
+                    BUILDER_DOUBLE = AspectReadBuilders.BUILDER_DOUBLE.byMod(IntegratedTunnels._instance)
+                    .withProperties(AspectReadBuilders.Network.PROPERTIES)
+                    .appendKind("itemnetwork");
             public static final AspectBuilder<ValueTypeOperator.ValueOperator, ValueTypeOperator, Pair<PartTarget, IAspectProperties>>
                     BUILDER_OPERATOR = AspectReadBuilders.BUILDER_OPERATOR.byMod(IntegratedTunnels._instance)
                     .withProperties(AspectReadBuilders.Network.PROPERTIES)
@@ -83,6 +117,10 @@ public class TunnelAspectReadBuilders {
                 int channel = input.getRight().getValue(AspectReadBuilders.Network.PROPERTY_CHANNEL).getRawValue();
                 return getChannelIndex(ItemNetworkConfig.CAPABILITY, input.getLeft().getTarget().getPos(), input.getLeft().getTarget().getSide(), channel).orElse(null);
             };
+            public static final IAspectValuePropagator<Pair<PartTarget, IAspectProperties>, Double> PROP_GET_UTILISATION = input -> {
+                int channel = input.getRight().getValue(AspectReadBuilders.Network.PROPERTY_CHANNEL).getRawValue();
+                return getUtilisation(ItemNetworkConfig.CAPABILITY, input.getLeft().getTarget().getPos(), input.getLeft().getTarget().getSide(), channel);
+            };
 
             public static final IAspectValuePropagator<Pair<PartTarget, IAspectProperties>, ValueTypeList.ValueList>
                     PROP_GET_LIST = input -> ValueTypeList.ValueList.ofFactory(new ValueTypeListProxyPositionedItemNetwork(
@@ -104,6 +142,10 @@ public class TunnelAspectReadBuilders {
                     BUILDER_LONG = AspectReadBuilders.BUILDER_LONG.byMod(IntegratedTunnels._instance)
                     .withProperties(AspectReadBuilders.Network.PROPERTIES)
                     .appendKind("fluidnetwork");
+            public static final AspectBuilder<ValueTypeDouble.ValueDouble, ValueTypeDouble, Pair<PartTarget, IAspectProperties>>
+                    BUILDER_DOUBLE = AspectReadBuilders.BUILDER_DOUBLE.byMod(IntegratedTunnels._instance)
+                    .withProperties(AspectReadBuilders.Network.PROPERTIES)
+                    .appendKind("fluidnetwork");
             public static final AspectBuilder<ValueTypeOperator.ValueOperator, ValueTypeOperator, Pair<PartTarget, IAspectProperties>>
                     BUILDER_OPERATOR = AspectReadBuilders.BUILDER_OPERATOR.byMod(IntegratedTunnels._instance)
                     .withProperties(AspectReadBuilders.Network.PROPERTIES)
@@ -117,6 +159,10 @@ public class TunnelAspectReadBuilders {
                 int channel = input.getRight().getValue(AspectReadBuilders.Network.PROPERTY_CHANNEL).getRawValue();
                 return getChannelIndex(FluidNetworkConfig.CAPABILITY, input.getLeft().getTarget().getPos(), input.getLeft().getTarget().getSide(), channel).orElse(null);
             };
+            public static final IAspectValuePropagator<Pair<PartTarget, IAspectProperties>, Double> PROP_GET_UTILISATION = input -> {
+                int channel = input.getRight().getValue(AspectReadBuilders.Network.PROPERTY_CHANNEL).getRawValue();
+                return getUtilisation(FluidNetworkConfig.CAPABILITY, input.getLeft().getTarget().getPos(), input.getLeft().getTarget().getSide(), channel);
+            };
 
             public static final IAspectValuePropagator<Pair<PartTarget, IAspectProperties>, ValueTypeList.ValueList>
                     PROP_GET_LIST = input -> ValueTypeList.ValueList.ofFactory(new ValueTypeListProxyPositionedFluidNetwork(
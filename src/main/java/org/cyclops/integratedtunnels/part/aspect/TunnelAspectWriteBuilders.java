@@ -2,6 +2,7 @@ package org.cyclops.integratedtunnels.part.aspect;
 
 import com.google.common.collect.ImmutableList;
 import net.minecraft.world.level.block.state.BlockState;
+import net.minecraft.world.level.Level;
 import net.minecraft.world.entity.Entity;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.nbt.Tag;
@@ -59,14 +60,19 @@ import org.cyclops.integratedtunnels.capability.network.ItemNetworkConfig;
 import org.cyclops.integratedtunnels.core.ItemHandlerWorldEntityExportWrapper;
 import org.cyclops.integratedtunnels.core.ItemHandlerWorldEntityImportWrapper;
 import org.cyclops.integratedtunnels.core.ItemStoragePlayerWrapper;
+import org.cyclops.integratedtunnels.core.SlotRanges;
 import org.cyclops.integratedtunnels.core.TunnelEnergyHelpers;
 import org.cyclops.integratedtunnels.core.TunnelFluidHelpers;
 import org.cyclops.integratedtunnels.core.TunnelHelpers;
 import org.cyclops.integratedtunnels.core.TunnelItemHelpers;
+import org.cyclops.integratedtunnels.core.TunnelSleepHelpers;
 import org.cyclops.integratedtunnels.core.part.IPartTypeInterfacePositionedAddon;
 import org.cyclops.integratedtunnels.core.part.PartStatePositionedAddon;
+import org.cyclops.integratedtunnels.core.part.PartStateRoundRobin;
 import org.cyclops.integratedtunnels.core.part.PartTypeInterfacePositionedAddonFiltering;
 import org.cyclops.integratedtunnels.core.predicate.IngredientPredicate;
+import org.cyclops.integratedtunnels.core.predicate.IngredientPredicateChannelMatches;
+import org.cyclops.integratedtunnels.core.predicate.IngredientPredicatePool;
 import org.cyclops.integratedtunnels.part.PartStatePlayerSimulator;
 
 import javax.annotation.Nullable;
@@ -86,12 +92,16 @@ public class TunnelAspectWriteBuilders {
 
     @Nullable
     public static Entity getEntity(PartPos target, int entityIndex) {
-        List<Entity> entities = target.getPos().getLevel(true).getEntitiesOfClass(Entity.class,
+        Level world = target.getPos().getLevel(true);
+        if (!TunnelSleepHelpers.isTicking(world, target.getPos().getBlockPos())) {
+            return null;
+        }
+        List<Entity> entities = world.getEntitiesOfClass(Entity.class,
                 new AABB(target.getPos().getBlockPos()));
         Entity entity = null;
         if (entities.size() > 0 && entityIndex < entities.size()) {
             if (entityIndex == -1) {
-                entity = entities.get(target.getPos().getLevel(true).random.nextInt(entities.size()));
+                entity = entities.get(world.random.nextInt(entities.size()));
             } else {
                 entity = entities.get(entityIndex);
             }
@@ -119,6 +129,65 @@ public class TunnelAspectWriteBuilders {
         }
     }
 
+    /**
+     * @param properties Aspect properties.
+     * @return If operator results may be cached, which is the case if the properties do not disable it.
+     */
+    public static boolean isCacheResults(IAspectProperties properties) {
+        return !properties.getTypes().contains(PROP_CACHE_RESULTS) || properties.getValue(PROP_CACHE_RESULTS).getRawValue();
+    }
+
+    /**
+     * Get the previous target of the part if its input did not change and its connection is still sleeping,
+     * or create a new target otherwise.
+     * This avoids network and capability lookups for parts that would not move anything anyway.
+     * @param input The target input.
+     * @param targetFactory A factory for a new target.
+     * @param <T> The instance type.
+     * @param <M> The matching condition parameter.
+     * @param <R> The target type.
+     * @return The target.
+     */
+    public static <T, M, R extends IChanneledTarget<?, T>> R getOrCreateTarget(Triple<PartTarget, IAspectProperties, ChanneledTargetInformation<T, M>> input,
+                                                                               Supplier<R> targetFactory) {
+        PartStateRoundRobin<?> partState = IChanneledTarget.getPartState(input.getLeft().getCenter());
+        if (partState == null) {
+            return targetFactory.get();
+        }
+        R target = (R) partState.getSleepingTarget(input.getLeft().getTarget(), input.getMiddle(), input.getRight());
+        if (target == null) {
+            target = targetFactory.get();
+            partState.setLastTarget(input.getLeft().getTarget(), input.getMiddle(), input.getRight(), target);
+        }
+        return target;
+    }
+
+    /**
+     * Wrap a propagator that creates target information from a value,
+     * so that the information of the previous target of the part is reused without creating a new predicate,
+     * if the value and properties did not change and its connection is still sleeping.
+     * @param propagator A propagator that creates target information.
+     * @param <V> The value type.
+     * @param <T> The instance type.
+     * @param <M> The matching condition parameter.
+     * @return The wrapped propagator.
+     */
+    public static <V, T, M> IAspectValuePropagator<Triple<PartTarget, IAspectProperties, V>, Triple<PartTarget, IAspectProperties, ChanneledTargetInformation<T, M>>>
+            reuseSleepingInformation(IAspectValuePropagator<Triple<PartTarget, IAspectProperties, V>, Triple<PartTarget, IAspectProperties, ChanneledTargetInformation<T, M>>> propagator) {
+        return input -> {
+            PartStateRoundRobin<?> partState = IChanneledTarget.getPartState(input.getLeft().getCenter());
+            if (partState != null) {
+                ChanneledTargetInformation<T, M> information = (ChanneledTargetInformation<T, M>) partState
+                        .getSleepingInformation(input.getLeft().getTarget(), input.getMiddle(), input.getRight());
+                if (information != null) {
+                    return Triple.of(input.getLeft(), input.getMiddle(), information);
+                }
+                partState.setLastTargetValue(input.getRight());
+            }
+            return propagator.getOutput(input);
+        };
+    }
+
     public static <T, M> IAspectValuePropagator<Triple<PartTarget, IAspectProperties, ChanneledTargetInformation<T, M>>, Void> propSetFilter() {
         return input -> {
             // This will only be called once, due to our filter-specific update logic in PartTypeInterfacePositionedAddon
@@ -161,6 +230,8 @@ public class TunnelAspectWriteBuilders {
             new AspectPropertyTypeInstance<>(ValueTypes.BOOLEAN, "aspect.aspecttypes.integratedtunnels.boolean.exactamount");
     public static final IAspectPropertyTypeInstance<ValueTypeBoolean, ValueTypeBoolean.ValueBoolean> PROP_EMPTYISANY =
             new AspectPropertyTypeInstance<>(ValueTypes.BOOLEAN, "aspect.aspecttypes.integratedtunnels.boolean.emptyisany");
+    public static final IAspectPropertyTypeInstance<ValueTypeBoolean, ValueTypeBoolean.ValueBoolean> PROP_CACHE_RESULTS =
+            new AspectPropertyTypeInstance<>(ValueTypes.BOOLEAN, "aspect.aspecttypes.integratedtunnels.boolean.cacheresults");
     public static final IAspectPropertyTypeInstance<ValueTypeBoolean, ValueTypeBoolean.ValueBoolean> PROP_CRAFT =
             new AspectPropertyTypeInstance<>(ValueTypes.BOOLEAN, "aspect.aspecttypes.integratedtunnels.boolean.craft");
     public static final IAspectPropertyTypeInstance<ValueTypeBoolean, ValueTypeBoolean.ValueBoolean> PROP_PASSIVE_IO =
@@ -311,7 +382,8 @@ public class TunnelAspectWriteBuilders {
                         input.getStorage(),
                         input.getAmount(),
                         input.isExactAmount(),
-                        input.isCraftIfFailed()
+                        input.isCraftIfFailed(),
+                        true
                 );
                 input.postTransfer();
             }
@@ -339,6 +411,7 @@ public class TunnelAspectWriteBuilders {
                         input.getEnergyChannel(),
                         input.getAmount(),
                         input.isExactAmount(),
+                        false,
                         false
                 );
                 input.postTransfer();
@@ -395,6 +468,8 @@ public class TunnelAspectWriteBuilders {
                         AspectReadBuilders.VALIDATOR_INTEGER_POSITIVE);
         public static final IAspectPropertyTypeInstance<ValueTypeInteger, ValueTypeInteger.ValueInteger> PROP_SLOT =
                 new AspectPropertyTypeInstance<>(ValueTypes.INTEGER, "aspect.aspecttypes.integratedtunnels.integer.item.slot");
+        public static final IAspectPropertyTypeInstance<ValueTypeString, ValueTypeString.ValueString> PROP_SLOTS =
+                new AspectPropertyTypeInstance<>(ValueTypes.STRING, "aspect.aspecttypes.integratedtunnels.string.item.slots");
         public static final IAspectPropertyTypeInstance<ValueTypeBoolean, ValueTypeBoolean.ValueBoolean> PROP_CHECK_STACKSIZE =
                 new AspectPropertyTypeInstance<>(ValueTypes.BOOLEAN, "aspect.aspecttypes.integratedtunnels.boolean.item.checkstacksize");
         public static final IAspectPropertyTypeInstance<ValueTypeBoolean, ValueTypeBoolean.ValueBoolean> PROP_CHECK_NBT =
@@ -413,14 +488,27 @@ public class TunnelAspectWriteBuilders {
                 PROP_RATE,
                 //PROP_EXACTAMOUNT,
                 PROP_SLOT,
+                PROP_SLOTS,
                 PROP_PASSIVE_IO,
                 PROP_CHECK_STACKSIZE
         ));
+        public static final IAspectProperties PROPERTIES_RATESLOT_OPERATOR = new AspectProperties(ImmutableList.<IAspectPropertyTypeInstance>of(
+                PROP_CHANNEL,
+                PROP_ROUNDROBIN,
+                PROP_RATE,
+                //PROP_EXACTAMOUNT,
+                PROP_SLOT,
+                PROP_SLOTS,
+                PROP_PASSIVE_IO,
+                PROP_CHECK_STACKSIZE,
+                PROP_CACHE_RESULTS
+        ));
         public static final IAspectProperties PROPERTIES_SLOT = new AspectProperties(ImmutableList.<IAspectPropertyTypeInstance>of(
                 PROP_CHANNEL,
                 PROP_ROUNDROBIN,
                 //PROP_EXACTAMOUNT,
                 PROP_SLOT,
+                PROP_SLOTS,
                 PROP_PASSIVE_IO,
                 PROP_CHECK_STACKSIZE
         ));
@@ -439,6 +527,7 @@ public class TunnelAspectWriteBuilders {
                 PROP_RATE,
                 //PROP_EXACTAMOUNT,
                 PROP_SLOT,
+                PROP_SLOTS,
                 PROP_PASSIVE_IO,
                 PROP_CHECK_STACKSIZE,
                 PROP_CHECK_NBT,
@@ -451,6 +540,7 @@ public class TunnelAspectWriteBuilders {
                 PROP_RATE,
                 //PROP_EXACTAMOUNT,
                 PROP_SLOT,
+                PROP_SLOTS,
                 PROP_PASSIVE_IO,
                 PROP_CHECK_STACKSIZE,
                 PROP_CHECK_NBT,
@@ -464,6 +554,7 @@ public class TunnelAspectWriteBuilders {
                 PROP_RATE,
                 //PROP_EXACTAMOUNT,
                 PROP_SLOT,
+                PROP_SLOTS,
                 PROP_PASSIVE_IO,
                 PROP_CHECK_STACKSIZE,
                 PROP_CHECK_NBT
@@ -475,6 +566,7 @@ public class TunnelAspectWriteBuilders {
                 PROP_RATE,
                 //PROP_EXACTAMOUNT,
                 PROP_SLOT,
+                PROP_SLOTS,
                 PROP_PASSIVE_IO,
                 PROP_NBT_SUBSET,
                 PROP_NBT_SUPERSET,
@@ -512,13 +604,25 @@ public class TunnelAspectWriteBuilders {
             PROPERTIES_RATESLOT.setValue(PROP_RATE, ValueTypeInteger.ValueInteger.of(64));
             //PROPERTIES_RATESLOT.setValue(PROP_EXACTAMOUNT, ValueTypeBoolean.ValueBoolean.of(false));
             PROPERTIES_RATESLOT.setValue(PROP_SLOT, ValueTypeInteger.ValueInteger.of(-1));
+            PROPERTIES_RATESLOT.setValue(PROP_SLOTS, ValueTypeString.ValueString.of(""));
             PROPERTIES_RATESLOT.setValue(PROP_PASSIVE_IO, ValueTypeBoolean.ValueBoolean.of(true));
             PROPERTIES_RATESLOT.setValue(PROP_CHECK_STACKSIZE, ValueTypeBoolean.ValueBoolean.of(false));
 
+            PROPERTIES_RATESLOT_OPERATOR.setValue(PROP_CHANNEL, ValueTypeInteger.ValueInteger.of(IPositionedAddonsNetworkIngredients.DEFAULT_CHANNEL));
+            PROPERTIES_RATESLOT_OPERATOR.setValue(PROP_ROUNDROBIN, ValueTypeBoolean.ValueBoolean.of(false));
+            PROPERTIES_RATESLOT_OPERATOR.setValue(PROP_RATE, ValueTypeInteger.ValueInteger.of(64));
+            //PROPERTIES_RATESLOT_OPERATOR.setValue(PROP_EXACTAMOUNT, ValueTypeBoolean.ValueBoolean.of(false));
+            PROPERTIES_RATESLOT_OPERATOR.setValue(PROP_SLOT, ValueTypeInteger.ValueInteger.of(-1));
+            PROPERTIES_RATESLOT_OPERATOR.setValue(PROP_SLOTS, ValueTypeString.ValueString.of(""));
+            PROPERTIES_RATESLOT_OPERATOR.setValue(PROP_PASSIVE_IO, ValueTypeBoolean.ValueBoolean.of(true));
+            PROPERTIES_RATESLOT_OPERATOR.setValue(PROP_CHECK_STACKSIZE, ValueTypeBoolean.ValueBoolean.of(false));
+            PROPERTIES_RATESLOT_OPERATOR.setValue(PROP_CACHE_RESULTS, ValueTypeBoolean.ValueBoolean.of(true));
+
             PROPERTIES_SLOT.setValue(PROP_CHANNEL, ValueTypeInteger.ValueInteger.of(IPositionedAddonsNetworkIngredients.DEFAULT_CHANNEL));
             PROPERTIES_SLOT.setValue(PROP_ROUNDROBIN, ValueTypeBoolean.ValueBoolean.of(false));
             //PROPERTIES_SLOT.setValue(PROP_EXACTAMOUNT, ValueTypeBoolean.ValueBoolean.of(false));
             PROPERTIES_SLOT.setValue(PROP_SLOT, ValueTypeInteger.ValueInteger.of(-1));
+            PROPERTIES_SLOT.setValue(PROP_SLOTS, ValueTypeString.ValueString.of(""));
             PROPERTIES_SLOT.setValue(PROP_PASSIVE_IO, ValueTypeBoolean.ValueBoolean.of(true));
             PROPERTIES_SLOT.setValue(PROP_CHECK_STACKSIZE, ValueTypeBoolean.ValueBoolean.of(false));
 
@@ -535,6 +639,7 @@ public class TunnelAspectWriteBuilders {
             PROPERTIES_RATESLOTCHECKS.setValue(PROP_RATE, ValueTypeInteger.ValueInteger.of(64));
             //PROPERTIES_RATESLOTCHECKS.setValue(PROP_EXACTAMOUNT, ValueTypeBoolean.ValueBoolean.of(false));
             PROPERTIES_RATESLOTCHECKS.setValue(PROP_SLOT, ValueTypeInteger.ValueInteger.of(-1));
+            PROPERTIES_RATESLOTCHECKS.setValue(PROP_SLOTS, ValueTypeString.ValueString.of(""));
             PROPERTIES_RATESLOTCHECKS.setValue(PROP_PASSIVE_IO, ValueTypeBoolean.ValueBoolean.of(true));
             PROPERTIES_RATESLOTCHECKS.setValue(PROP_CHECK_STACKSIZE, ValueTypeBoolean.ValueBoolean.of(false));
             PROPERTIES_RATESLOTCHECKS.setValue(PROP_CHECK_NBT, ValueTypeBoolean.ValueBoolean.of(true));
@@ -546,6 +651,7 @@ public class TunnelAspectWriteBuilders {
             PROPERTIES_RATESLOTCHECKSCRAFT.setValue(PROP_RATE, ValueTypeInteger.ValueInteger.of(64));
             //PROPERTIES_RATESLOTCHECKSCRAFT.setValue(PROP_EXACTAMOUNT, ValueTypeBoolean.ValueBoolean.of(false));
             PROPERTIES_RATESLOTCHECKSCRAFT.setValue(PROP_SLOT, ValueTypeInteger.ValueInteger.of(-1));
+            PROPERTIES_RATESLOTCHECKSCRAFT.setValue(PROP_SLOTS, ValueTypeString.ValueString.of(""));
             PROPERTIES_RATESLOTCHECKSCRAFT.setValue(PROP_PASSIVE_IO, ValueTypeBoolean.ValueBoolean.of(true));
             PROPERTIES_RATESLOTCHECKSCRAFT.setValue(PROP_CHECK_STACKSIZE, ValueTypeBoolean.ValueBoolean.of(false));
             PROPERTIES_RATESLOTCHECKSCRAFT.setValue(PROP_CHECK_NBT, ValueTypeBoolean.ValueBoolean.of(true));
@@ -558,6 +664,7 @@ public class TunnelAspectWriteBuilders {
             PROPERTIES_RATESLOTCHECKSLIST.setValue(PROP_RATE, ValueTypeInteger.ValueInteger.of(64));
             //PROPERTIES_RATESLOTCHECKSLIST.setValue(PROP_EXACTAMOUNT, ValueTypeBoolean.ValueBoolean.of(false));
             PROPERTIES_RATESLOTCHECKSLIST.setValue(PROP_SLOT, ValueTypeInteger.ValueInteger.of(-1));
+            PROPERTIES_RATESLOTCHECKSLIST.setValue(PROP_SLOTS, ValueTypeString.ValueString.of(""));
             PROPERTIES_RATESLOTCHECKSLIST.setValue(PROP_PASSIVE_IO, ValueTypeBoolean.ValueBoolean.of(true));
             PROPERTIES_RATESLOTCHECKSLIST.setValue(PROP_CHECK_STACKSIZE, ValueTypeBoolean.ValueBoolean.of(false));
             PROPERTIES_RATESLOTCHECKSLIST.setValue(PROP_CHECK_NBT, ValueTypeBoolean.ValueBoolean.of(true));
@@ -568,6 +675,7 @@ public class TunnelAspectWriteBuilders {
             PROPERTIES_NBT.setValue(PROP_RATE, ValueTypeInteger.ValueInteger.of(64));
             //PROPERTIES_NBT.setValue(PROP_EXACTAMOUNT, ValueTypeBoolean.ValueBoolean.of(false));
             PROPERTIES_NBT.setValue(PROP_SLOT, ValueTypeInteger.ValueInteger.of(-1));
+            PROPERTIES_NBT.setValue(PROP_SLOTS, ValueTypeString.ValueString.of(""));
             PROPERTIES_NBT.setValue(PROP_PASSIVE_IO, ValueTypeBoolean.ValueBoolean.of(true));
             PROPERTIES_NBT.setValue(PROP_NBT_SUBSET, ValueTypeBoolean.ValueBoolean.of(true));
             PROPERTIES_NBT.setValue(PROP_NBT_SUPERSET, ValueTypeBoolean.ValueBoolean.of(true));
@@ -598,46 +706,63 @@ public class TunnelAspectWriteBuilders {
         }
 
         public static final IAspectValuePropagator<Triple<PartTarget, IAspectProperties, Boolean>, Triple<PartTarget, IAspectProperties, ChanneledTargetInformation<ItemStack, Integer>>>
-                PROP_BOOLEAN_ITEMPREDICATE = input -> {
+                PROP_BOOLEAN_ITEMPREDICATE = reuseSleepingInformation(input -> {
             IAspectProperties properties = input.getMiddle();
             int amount = input.getRight() ? input.getMiddle().getValue(PROP_RATE).getRawValue() : 0;
             boolean exactAmount = properties.getValue(PROP_CHECK_STACKSIZE).getRawValue() || properties.getValue(PROP_EXACTAMOUNT).getRawValue(); // TODO: restore exact amount
             IngredientPredicate<ItemStack, Integer> itemStackMatcher = input.getRight() ? TunnelItemHelpers.matchAll(amount, exactAmount) : TunnelItemHelpers.MATCH_NONE;
             int slot = input.getMiddle().getValue(PROP_SLOT).getRawValue();
-            return Triple.of(input.getLeft(), input.getMiddle(), ChanneledTargetInformation.of(itemStackMatcher, itemStackMatcher, slot));
-        };
+            return Triple.of(input.getLeft(), input.getMiddle(), ChanneledTargetInformation.of(itemStackMatcher, itemStackMatcher, slot,
+                    SlotRanges.parse(input.getMiddle().getValue(PROP_SLOTS).getRawValue())));
+        });
         public static final IAspectValuePropagator<Triple<PartTarget, IAspectProperties, Integer>, Triple<PartTarget, IAspectProperties, ChanneledTargetInformation<ItemStack, Integer>>>
-                PROP_INTEGER_ITEMPREDICATE = input -> {
+                PROP_INTEGER_ITEMPREDICATE = reuseSleepingInformation(input -> {
             IAspectProperties properties = input.getMiddle();
             int amount = input.getRight();
             boolean exactAmount = properties.getValue(PROP_CHECK_STACKSIZE).getRawValue() || properties.getValue(PROP_EXACTAMOUNT).getRawValue(); // TODO: restore exact amount
             IngredientPredicate<ItemStack, Integer> itemStackMatcher = TunnelItemHelpers.matchAll(amount, exactAmount);
             int slot = properties.getValue(PROP_SLOT).getRawValue();
-            return Triple.of(input.getLeft(), input.getMiddle(), ChanneledTargetInformation.of(itemStackMatcher, itemStackMatcher, slot));
-        };
+            return Triple.of(input.getLeft(), input.getMiddle(), ChanneledTargetInformation.of(itemStackMatcher, itemStackMatcher, slot,
+                    SlotRanges.parse(input.getMiddle().getValue(PROP_SLOTS).getRawValue())));
+        });
         public static final IAspectValuePropagator<Triple<PartTarget, IAspectProperties, Integer>, Triple<PartTarget, IAspectProperties, ChanneledTargetInformation<ItemStack, Integer>>>
-                PROP_INTEGER_SLOT_ITEMPREDICATE = input -> {
+                PROP_INTEGER_SLOT_ITEMPREDICATE = reuseSleepingInformation(input -> {
             IAspectProperties properties = input.getMiddle();
             int amount = input.getRight() >= -1 ? properties.getValue(PROP_RATE).getRawValue() : 0;
             boolean exactAmount = properties.getValue(PROP_CHECK_STACKSIZE).getRawValue() || properties.getValue(PROP_EXACTAMOUNT).getRawValue(); // TODO: restore exact amount
             IngredientPredicate<ItemStack, Integer> itemStackMatcher = TunnelItemHelpers.matchAll(amount, exactAmount);
             int slot = input.getRight();
             return Triple.of(input.getLeft(), input.getMiddle(), ChanneledTargetInformation.of(itemStackMatcher, itemStackMatcher, slot));
-        };
+        });
         public static final IAspectValuePropagator<Triple<PartTarget, IAspectProperties, ItemStack>, Triple<PartTarget, IAspectProperties, ChanneledTargetInformation<ItemStack, Integer>>>
-                PROP_ITEMSTACK_ITEMPREDICATE = input -> {
+                PROP_ITEMSTACK_ITEMPREDICATE = reuseSleepingInformation(input -> {
             IAspectProperties properties = input.getMiddle();
             boolean checkStackSize = properties.getValue(PROP_CHECK_STACKSIZE).getRawValue();
             boolean checkNbt = properties.getValue(PROP_CHECK_NBT).getRawValue();
             boolean blacklist = properties.getValue(PROP_BLACKLIST).getRawValue();
             boolean exactAmount = properties.getValue(PROP_EXACTAMOUNT).getRawValue();
             int amount = properties.getValue(PROP_RATE).getRawValue();
-            ItemStack prototype = TunnelItemHelpers.prototypeWithCount(input.getRight(), amount);
+            boolean emptyIsAny = properties.getValue(PROP_EMPTYISANY).getRawValue();
+
+            // Only derive a new prototype if the item or the properties have changed
+            IngredientPredicate<ItemStack, Integer> itemStackMatcher = IngredientPredicatePool.get(input.getRight(),
+                    IngredientPredicatePool.parameters(amount, checkStackSize, checkNbt, blacklist, exactAmount, emptyIsAny),
+                    () -> matchItemStackPrototype(input.getRight(), amount, checkStackSize, checkNbt, blacklist, exactAmount, emptyIsAny));
+            int slot = properties.getValue(PROP_SLOT).getRawValue();
+            return Triple.of(input.getLeft(), input.getMiddle(), ChanneledTargetInformation.of(itemStackMatcher, itemStackMatcher, slot,
+                    SlotRanges.parse(input.getMiddle().getValue(PROP_SLOTS).getRawValue())));
+        });
+
+        protected static IngredientPredicate<ItemStack, Integer> matchItemStackPrototype(ItemStack itemStack, int amount,
+                                                                                       boolean checkStackSize, boolean checkNbt,
+                                                                                       boolean blacklist, boolean exactAmount,
+                                                                                       boolean emptyIsAny) {
+            ItemStack prototype = TunnelItemHelpers.prototypeWithCount(itemStack, amount);
             boolean checkItem = true;
 
             // If the (original) prototype is empty, adjust match flags based on the empty behaviour
-            if (input.getRight().isEmpty()) {
-                IngredientPredicate.EmptyBehaviour emptyBehaviour = IngredientPredicate.EmptyBehaviour.fromBoolean(properties.getValue(PROP_EMPTYISANY).getRawValue());
+            if (itemStack.isEmpty()) {
+                IngredientPredicate.EmptyBehaviour emptyBehaviour = IngredientPredicate.EmptyBehaviour.fromBoolean(emptyIsAny);
                 if (emptyBehaviour == IngredientPredicate.EmptyBehaviour.ANY) {
                     checkStackSize = false;
                     checkNbt = false;
@@ -647,12 +772,11 @@ public class TunnelAspectWriteBuilders {
                 }
             }
 
-            IngredientPredicate<ItemStack, Integer> itemStackMatcher = TunnelItemHelpers.matchItemStack(prototype, checkItem, checkStackSize, checkNbt, blacklist, exactAmount);
-            int slot = properties.getValue(PROP_SLOT).getRawValue();
-            return Triple.of(input.getLeft(), input.getMiddle(), ChanneledTargetInformation.of(itemStackMatcher, itemStackMatcher, slot));
-        };
+            return TunnelItemHelpers.matchItemStackUnpooled(prototype, checkItem, checkStackSize, checkNbt, blacklist, exactAmount);
+        }
+
         public static final IAspectValuePropagator<Triple<PartTarget, IAspectProperties, ValueTypeList.ValueList>, Triple<PartTarget, IAspectProperties, ChanneledTargetInformation<ItemStack, Integer>>>
-                PROP_ITEMSTACKLIST_ITEMPREDICATE = input -> {
+                PROP_ITEMSTACKLIST_ITEMPREDICATE = reuseSleepingInformation(input -> {
             ValueTypeList.ValueList list = input.getRight();
             validateListValues(list, ValueTypes.OBJECT_ITEMSTACK);
 
@@ -666,10 +790,11 @@ public class TunnelAspectWriteBuilders {
 
             IngredientPredicate<ItemStack, Integer> itemStackMatcher = TunnelItemHelpers.matchItemStacks(list.getRawValue(), true, checkStackSize, checkNbt, blacklist, amount, exactAmount);
             int slot = properties.getValue(PROP_SLOT).getRawValue();
-            return Triple.of(input.getLeft(), input.getMiddle(), ChanneledTargetInformation.of(itemStackMatcher, itemStackMatcher, slot));
-        };
+            return Triple.of(input.getLeft(), input.getMiddle(), ChanneledTargetInformation.of(itemStackMatcher, itemStackMatcher, slot,
+                    SlotRanges.parse(input.getMiddle().getValue(PROP_SLOTS).getRawValue())));
+        });
         public static final IAspectValuePropagator<Triple<PartTarget, IAspectProperties, ValueTypeOperator.ValueOperator>, Triple<PartTarget, IAspectProperties, ChanneledTargetInformation<ItemStack, Integer>>>
-                PROP_ITEMSTACKPREDICATE_ITEMPREDICATE = input -> {
+                PROP_ITEMSTACKPREDICATE_ITEMPREDICATE = reuseSleepingInformation(input -> {
             IOperator predicate = input.getRight().getRawValue();
             if (predicate.getInputTypes().length == 1
                     && ValueHelpers.correspondsTo(predicate.getInputTypes()[0], ValueTypes.OBJECT_ITEMSTACK)
@@ -677,18 +802,20 @@ public class TunnelAspectWriteBuilders {
                 IAspectProperties properties = input.getMiddle();
                 int amount = properties.getValue(PROP_RATE).getRawValue();
                 boolean exactAmount = properties.getValue(PROP_EXACTAMOUNT).getRawValue();
-                IngredientPredicate<ItemStack, Integer> itemStackMatcher = TunnelItemHelpers.matchPredicateItem(input.getLeft(), predicate, amount, exactAmount);
+                IngredientPredicate<ItemStack, Integer> itemStackMatcher = TunnelItemHelpers.matchPredicateItem(input.getLeft(), predicate, amount, exactAmount,
+                        isCacheResults(properties));
                 int slot = properties.getValue(PROP_SLOT).getRawValue();
-                return Triple.of(input.getLeft(), input.getMiddle(), ChanneledTargetInformation.of(itemStackMatcher, itemStackMatcher, slot));
+                return Triple.of(input.getLeft(), input.getMiddle(), ChanneledTargetInformation.of(itemStackMatcher, itemStackMatcher, slot,
+                        SlotRanges.parse(input.getMiddle().getValue(PROP_SLOTS).getRawValue())));
             } else {
                 Component current = ValueTypeOperator.getSignature(predicate);
                 Component expected = ValueTypeOperator.getSignature(new IValueType[]{ValueTypes.OBJECT_ITEMSTACK}, ValueTypes.BOOLEAN);
                 throw new EvaluationException(new TranslatableComponent(L10NValues.ASPECT_ERROR_INVALIDTYPE,
                         expected, current));
             }
-        };
+        });
         public static final IAspectValuePropagator<Triple<PartTarget, IAspectProperties, Optional<Tag>>, Triple<PartTarget, IAspectProperties, ChanneledTargetInformation<ItemStack, Integer>>>
-                PROP_NBT_ITEMPREDICATE = input -> {
+                PROP_NBT_ITEMPREDICATE = reuseSleepingInformation(input -> {
             Optional<Tag> tag = input.getRight();
             IAspectProperties properties = input.getMiddle();
             int amount = properties.getValue(PROP_RATE).getRawValue();
@@ -700,10 +827,11 @@ public class TunnelAspectWriteBuilders {
             boolean recursive = properties.getValue(PROP_NBT_RECURSIVE).getRawValue();
             boolean blacklist = properties.getValue(PROP_BLACKLIST).getRawValue();
             IngredientPredicate<ItemStack, Integer> itemStackMatcher = TunnelItemHelpers.matchNbt(tag, subset, superset, requireNbt, recursive, blacklist, amount, exactAmount);
-            return Triple.of(input.getLeft(), input.getMiddle(), ChanneledTargetInformation.of(itemStackMatcher, itemStackMatcher, slot));
-        };
+            return Triple.of(input.getLeft(), input.getMiddle(), ChanneledTargetInformation.of(itemStackMatcher, itemStackMatcher, slot,
+                    SlotRanges.parse(input.getMiddle().getValue(PROP_SLOTS).getRawValue())));
+        });
         public static final IAspectValuePropagator<Triple<PartTarget, IAspectProperties, BlockState>, Triple<PartTarget, IAspectProperties, ChanneledTargetInformation<ItemStack, Integer>>>
-                PROP_BLOCK_ITEMPREDICATE = input -> {
+                PROP_BLOCK_ITEMPREDICATE = reuseSleepingInformation(input -> {
             IAspectProperties properties = input.getMiddle();
 
             boolean blacklist = properties.getValue(PROP_BLACKLIST).getRawValue();
@@ -723,12 +851,13 @@ public class TunnelAspectWriteBuilders {
                 }
             }
 
-            IngredientPredicate<ItemStack, Integer> itemStackMatcher = TunnelItemHelpers.matchItemStack(prototype, checkItem, false, false, blacklist, exactAmount);
+            IngredientPredicate<ItemStack, Integer> itemStackMatcher = TunnelItemHelpers.matchItemStackUnpooled(prototype, checkItem, false, false, blacklist, exactAmount);
             int slot = properties.getValue(PROP_SLOT).getRawValue();
-            return Triple.of(input.getLeft(), input.getMiddle(), ChanneledTargetInformation.of(itemStackMatcher, itemStackMatcher, slot));
-        };
+            return Triple.of(input.getLeft(), input.getMiddle(), ChanneledTargetInformation.of(itemStackMatcher, itemStackMatcher, slot,
+                    SlotRanges.parse(input.getMiddle().getValue(PROP_SLOTS).getRawValue())));
+        });
         public static final IAspectValuePropagator<Triple<PartTarget, IAspectProperties, ValueTypeList.ValueList>, Triple<PartTarget, IAspectProperties, ChanneledTargetInformation<ItemStack, Integer>>>
-                PROP_BLOCKLIST_ITEMPREDICATE = input -> {
+                PROP_BLOCKLIST_ITEMPREDICATE = reuseSleepingInformation(input -> {
             ValueTypeList.ValueList list = input.getRight();
             validateListValues(list, ValueTypes.OBJECT_BLOCK);
 
@@ -739,10 +868,11 @@ public class TunnelAspectWriteBuilders {
 
             IngredientPredicate<ItemStack, Integer> itemStackMatcher = TunnelItemHelpers.matchBlocks(list.getRawValue(), true, false, false, blacklist, amount, exactAmount);
             int slot = properties.getValue(PROP_SLOT).getRawValue();
-            return Triple.of(input.getLeft(), input.getMiddle(), ChanneledTargetInformation.of(itemStackMatcher, itemStackMatcher, slot));
-        };
+            return Triple.of(input.getLeft(), input.getMiddle(), ChanneledTargetInformation.of(itemStackMatcher, itemStackMatcher, slot,
+                    SlotRanges.parse(input.getMiddle().getValue(PROP_SLOTS).getRawValue())));
+        });
         public static final IAspectValuePropagator<Triple<PartTarget, IAspectProperties, ValueTypeOperator.ValueOperator>, Triple<PartTarget, IAspectProperties, ChanneledTargetInformation<ItemStack, Integer>>>
-                PROP_BLOCKPREDICATE_ITEMPREDICATE = input -> {
+                PROP_BLOCKPREDICATE_ITEMPREDICATE = reuseSleepingInformation(input -> {
             IOperator predicate = input.getRight().getRawValue();
             if (predicate.getInputTypes().length == 1
                     && ValueHelpers.correspondsTo(predicate.getInputTypes()[0], ValueTypes.OBJECT_BLOCK)
@@ -752,18 +882,19 @@ public class TunnelAspectWriteBuilders {
                 boolean exactAmount = false;
                 IngredientPredicate<ItemStack, Integer> itemStackMatcher = TunnelItemHelpers.matchPredicateBlock(input.getLeft(), predicate, amount, exactAmount);
                 int slot = properties.getValue(PROP_SLOT).getRawValue();
-                return Triple.of(input.getLeft(), input.getMiddle(), ChanneledTargetInformation.of(itemStackMatcher, itemStackMatcher, slot));
+                return Triple.of(input.getLeft(), input.getMiddle(), ChanneledTargetInformation.of(itemStackMatcher, itemStackMatcher, slot,
+                        SlotRanges.parse(input.getMiddle().getValue(PROP_SLOTS).getRawValue())));
             } else {
                 Component current = ValueTypeOperator.getSignature(predicate);
                 Component expected = ValueTypeOperator.getSignature(new IValueType[]{ValueTypes.OBJECT_BLOCK}, ValueTypes.BOOLEAN);
                 throw new EvaluationException(new TranslatableComponent(L10NValues.ASPECT_ERROR_INVALIDTYPE,
                         expected, current));
             }
-        };
+        });
 
         public static final IAspectValuePropagator<Triple<PartTarget, IAspectProperties, ChanneledTargetInformation<ItemStack, Integer>>, IItemTarget>
-                PROP_ITEMTARGET = input -> IItemTarget.ofCapabilityProvider(input.getRight().getIngredientPredicate(), input.getLeft(),
-                input.getMiddle(), input.getRight().getIngredientPredicate(), input.getRight().getSlot());
+                PROP_ITEMTARGET = input -> getOrCreateTarget(input, () -> IItemTarget.ofCapabilityProvider(input.getRight().getIngredientPredicate(), input.getLeft(),
+                input.getMiddle(), input.getRight().getIngredientPredicate(), input.getRight().getSlot(), input.getRight().getSlots()));
 
         public static final IAspectValuePropagator<IItemTarget, Void>
                 PROP_EXPORT = input -> {
@@ -779,16 +910,18 @@ public class TunnelAspectWriteBuilders {
 
             if (input.hasValidTarget()) {
                 input.preTransfer();
-                TunnelHelpers.moveSingleStateOptimized(
+                TunnelHelpers.moveBulkStateOptimized(
                         input.getNetwork(),
                         input.getChanneledNetwork(),
                         input.getChannel(),
                         input.getConnection(),
-                        input.getItemChannel(), -1,
-                        input.getStorage(), input.getSlot(),
-                        input.getItemStackMatcher(),
+                        input.getItemChannel(), -1, null,
+                        input.getStorage(), input.getSlot(), input.getSlots(),
+                        IngredientPredicateChannelMatches.of(input.getItemStackMatcher(), input.getChanneledNetwork(), input.getChannel()),
                         input.getPartTarget().getCenter(),
-                        input.isCraftIfFailed());
+                        input.isCraftIfFailed(),
+                        GeneralConfig.maxMovementsPerTick,
+                        true);
                 input.postTransfer();
             }
             return null;
@@ -807,15 +940,17 @@ public class TunnelAspectWriteBuilders {
 
             if (input.hasValidTarget()) {
                 input.preTransfer();
-                TunnelHelpers.moveSingleStateOptimized(
+                TunnelHelpers.moveBulkStateOptimized(
                         input.getNetwork(),
                         input.getChanneledNetwork(),
                         input.getChannel(),
                         input.getConnection(),
-                        input.getStorage(), input.getSlot(),
-                        input.getItemChannel(), -1,
+                        input.getStorage(), input.getSlot(), input.getSlots(),
+                        input.getItemChannel(), -1, null,
                         input.getItemStackMatcher(),
                         input.getPartTarget().getCenter(),
+                        false,
+                        GeneralConfig.maxMovementsPerTick,
                         false);
                 input.postTransfer();
             }
@@ -890,6 +1025,15 @@ public class TunnelAspectWriteBuilders {
                 PROP_PASSIVE_IO,
                 PROP_CHECK_AMOUNT
         ));
+        public static final IAspectProperties PROPERTIES_RATE_OPERATOR = new AspectProperties(ImmutableList.<IAspectPropertyTypeInstance>of(
+                PROP_CHANNEL,
+                PROP_ROUNDROBIN,
+                PROP_RATE,
+                //PROP_EXACTAMOUNT
+                PROP_PASSIVE_IO,
+                PROP_CHECK_AMOUNT,
+                PROP_CACHE_RESULTS
+        ));
         public static final IAspectProperties PROPERTIES_RATECHECKS = new AspectProperties(ImmutableList.<IAspectPropertyTypeInstance>of(
                 PROP_CHANNEL,
                 PROP_ROUNDROBIN,
@@ -969,6 +1113,14 @@ public class TunnelAspectWriteBuilders {
             PROPERTIES_RATE.setValue(PROP_PASSIVE_IO, ValueTypeBoolean.ValueBoolean.of(true));
             PROPERTIES_RATE.setValue(PROP_CHECK_AMOUNT, ValueTypeBoolean.ValueBoolean.of(false));
 
+            PROPERTIES_RATE_OPERATOR.setValue(PROP_CHANNEL, ValueTypeInteger.ValueInteger.of(IPositionedAddonsNetworkIngredients.DEFAULT_CHANNEL));
+            PROPERTIES_RATE_OPERATOR.setValue(PROP_ROUNDROBIN, ValueTypeBoolean.ValueBoolean.of(false));
+            PROPERTIES_RATE_OPERATOR.setValue(PROP_RATE, ValueTypeInteger.ValueInteger.of(1000));
+            //PROPERTIES_RATE_OPERATOR.setValue(PROP_EXACTAMOUNT, ValueTypeBoolean.ValueBoolean.of(false));
+            PROPERTIES_RATE_OPERATOR.setValue(PROP_PASSIVE_IO, ValueTypeBoolean.ValueBoolean.of(true));
+            PROPERTIES_RATE_OPERATOR.setValue(PROP_CHECK_AMOUNT, ValueTypeBoolean.ValueBoolean.of(false));
+            PROPERTIES_RATE_OPERATOR.setValue(PROP_CACHE_RESULTS, ValueTypeBoolean.ValueBoolean.of(true));
+
             PROPERTIES_RATECHECKS.setValue(PROP_CHANNEL, ValueTypeInteger.ValueInteger.of(IPositionedAddonsNetworkIngredients.DEFAULT_CHANNEL));
             PROPERTIES_RATECHECKS.setValue(PROP_ROUNDROBIN, ValueTypeBoolean.ValueBoolean.of(false));
             PROPERTIES_RATECHECKS.setValue(PROP_BLACKLIST, ValueTypeBoolean.ValueBoolean.of(false));
@@ -1032,7 +1184,7 @@ public class TunnelAspectWriteBuilders {
         public static final IAspectValuePropagator<Triple<PartTarget, IAspectProperties, Boolean>, Triple<PartTarget, IAspectProperties, Integer>>
                 PROP_BOOLEAN_GETRATE = input -> Triple.of(input.getLeft(), input.getMiddle(), input.getRight() ? input.getMiddle().getValue(PROP_RATE).getRawValue() : 0);
         public static final IAspectValuePropagator<Triple<PartTarget, IAspectProperties, Boolean>, Triple<PartTarget, IAspectProperties, ChanneledTargetInformation<FluidStack, Integer>>>
-                PROP_BOOLEAN_PREDICATE = input -> {
+                PROP_BOOLEAN_PREDICATE = reuseSleepingInformation(input -> {
             IAspectProperties properties = input.getMiddle();
             // TODO: restore exact amount
             IngredientPredicate<FluidStack, Integer> fluidMatcher = new IngredientPredicate<FluidStack, Integer>(IngredientComponents.FLUIDSTACK, false, false, 0, properties.getValue(PROP_CHECK_AMOUNT).getRawValue()) {
@@ -1042,27 +1194,43 @@ public class TunnelAspectWriteBuilders {
                 }
             };
             return Triple.of(input.getLeft(), input.getMiddle(), ChanneledTargetInformation.of(fluidMatcher, fluidMatcher, -1));
-        };
+        });
         public static final IAspectValuePropagator<Triple<PartTarget, IAspectProperties, Integer>, Triple<PartTarget, IAspectProperties, ChanneledTargetInformation<FluidStack, Integer>>>
-                PROP_INTEGER_FLUIDPREDICATE = input -> {
+                PROP_INTEGER_FLUIDPREDICATE = reuseSleepingInformation(input -> {
             // TODO: restore exact amount
             IngredientPredicate<FluidStack, Integer> fluidStackMatcher = TunnelFluidHelpers.matchAll(input.getRight(), input.getMiddle().getValue(PROP_CHECK_AMOUNT).getRawValue() || input.getMiddle().getValue(PROP_EXACTAMOUNT).getRawValue());
             return Triple.of(input.getLeft(), input.getMiddle(), ChanneledTargetInformation.of(fluidStackMatcher, fluidStackMatcher, -1));
-        };
+        });
         public static final IAspectValuePropagator<Triple<PartTarget, IAspectProperties, FluidStack>, Triple<PartTarget, IAspectProperties, ChanneledTargetInformation<FluidStack, Integer>>>
-                PROP_FLUIDSTACK_FLUIDPREDICATE = input -> {
+                PROP_FLUIDSTACK_FLUIDPREDICATE = reuseSleepingInformation(input -> {
             IAspectProperties properties = input.getMiddle();
             int rate = properties.getValue(PROP_RATE).getRawValue();
             boolean checkAmount = properties.getValue(PROP_CHECK_AMOUNT).getRawValue();
             boolean exactAmount = properties.getValue(PROP_EXACTAMOUNT).getRawValue();
             boolean checkNbt = properties.getValue(PROP_CHECK_NBT).getRawValue();
             boolean blacklist = properties.getValue(PROP_BLACKLIST).getRawValue();
+            boolean emptyIsAny = properties.getValue(PROP_EMPTYISANY).getRawValue();
+
+            // Only derive a new prototype if the fluid or the properties have changed
+            IngredientPredicate<FluidStack, Integer> ingredientPredicate = input.getRight() == null
+                    ? matchFluidStackPrototype(null, rate, checkAmount, checkNbt, blacklist, exactAmount, emptyIsAny)
+                    : IngredientPredicatePool.get(input.getRight(),
+                            IngredientPredicatePool.parameters(rate, checkAmount, checkNbt, blacklist, exactAmount, emptyIsAny),
+                            () -> matchFluidStackPrototype(input.getRight(), rate, checkAmount, checkNbt, blacklist, exactAmount, emptyIsAny));
+            return Triple.of(input.getLeft(), input.getMiddle(),
+                    ChanneledTargetInformation.of(ingredientPredicate, ingredientPredicate, -1));
+        });
+
+        protected static IngredientPredicate<FluidStack, Integer> matchFluidStackPrototype(@Nullable FluidStack fluidStack, int rate,
+                                                                                         boolean checkAmount, boolean checkNbt,
+                                                                                         boolean blacklist, boolean exactAmount,
+                                                                                         boolean emptyIsAny) {
             boolean checkFluid = true;
-            FluidStack prototype = TunnelFluidHelpers.prototypeWithCount(input.getRight(), rate);
+            FluidStack prototype = TunnelFluidHelpers.prototypeWithCount(fluidStack, rate);
 
             // If the (original) prototype is empty, adjust match flags based on the empty behaviour
-            if (input.getRight() == null) {
-                IngredientPredicate.EmptyBehaviour emptyBehaviour = IngredientPredicate.EmptyBehaviour.fromBoolean(properties.getValue(PROP_EMPTYISANY).getRawValue());
+            if (fluidStack == null) {
+                IngredientPredicate.EmptyBehaviour emptyBehaviour = IngredientPredicate.EmptyBehaviour.fromBoolean(emptyIsAny);
                 if (emptyBehaviour == IngredientPredicate.EmptyBehaviour.ANY) {
                     checkAmount = false;
                     checkNbt = false;
@@ -1072,12 +1240,11 @@ public class TunnelAspectWriteBuilders {
                 }
             }
 
-            IngredientPredicate<FluidStack, Integer> ingredientPredicate = TunnelFluidHelpers.matchFluidStack(prototype, checkFluid, checkAmount, checkNbt, blacklist, exactAmount);
-            return Triple.of(input.getLeft(), input.getMiddle(),
-                    ChanneledTargetInformation.of(ingredientPredicate, ingredientPredicate, -1));
-        };
+            return TunnelFluidHelpers.matchFluidStack(prototype, checkFluid, checkAmount, checkNbt, blacklist, exactAmount);
+        }
+
         public static final IAspectValuePropagator<Triple<PartTarget, IAspectProperties, ValueTypeList.ValueList>, Triple<PartTarget, IAspectProperties, ChanneledTargetInformation<FluidStack, Integer>>>
-                PROP_FLUIDSTACKLIST_FLUIDPREDICATE = input -> {
+                PROP_FLUIDSTACKLIST_FLUIDPREDICATE = reuseSleepingInformation(input -> {
             ValueTypeList.ValueList<ValueObjectTypeFluidStack, ValueObjectTypeFluidStack.ValueFluidStack> list = input.getRight();
             validateListValues(list, ValueTypes.OBJECT_FLUIDSTACK);
 
@@ -1091,9 +1258,9 @@ public class TunnelAspectWriteBuilders {
             IngredientPredicate<FluidStack, Integer> fluidStackMatcher = TunnelFluidHelpers.matchFluidStacks(list.getRawValue(), true, checkAmount, checkNbt, blacklist, rate, exactAmount);
             return Triple.of(input.getLeft(), input.getMiddle(),
                     ChanneledTargetInformation.of(fluidStackMatcher, fluidStackMatcher, -1));
-        };
+        });
         public static final IAspectValuePropagator<Triple<PartTarget, IAspectProperties, ValueTypeOperator.ValueOperator>, Triple<PartTarget, IAspectProperties, ChanneledTargetInformation<FluidStack, Integer>>>
-                PROP_FLUIDSTACKPREDICATE_FLUIDPREDICATE = input -> {
+                PROP_FLUIDSTACKPREDICATE_FLUIDPREDICATE = reuseSleepingInformation(input -> {
             IOperator predicate = input.getRight().getRawValue();
             if (predicate.getInputTypes().length == 1
                     && ValueHelpers.correspondsTo(predicate.getInputTypes()[0], ValueTypes.OBJECT_FLUIDSTACK)
@@ -1101,7 +1268,8 @@ public class TunnelAspectWriteBuilders {
                 IAspectProperties properties = input.getMiddle();
                 int rate = properties.getValue(PROP_RATE).getRawValue();
                 boolean exactAmount = properties.getValue(PROP_EXACTAMOUNT).getRawValue();
-                IngredientPredicate<FluidStack, Integer> fluidStackMatcher = TunnelFluidHelpers.matchPredicate(input.getLeft(), predicate, rate, exactAmount);
+                IngredientPredicate<FluidStack, Integer> fluidStackMatcher = TunnelFluidHelpers.matchPredicate(input.getLeft(), predicate, rate, exactAmount,
+                        isCacheResults(properties));
                 return Triple.of(input.getLeft(), input.getMiddle(),
                         ChanneledTargetInformation.of(fluidStackMatcher, fluidStackMatcher, -1));
             } else {
@@ -1110,9 +1278,9 @@ public class TunnelAspectWriteBuilders {
                 throw new EvaluationException(new TranslatableComponent(L10NValues.ASPECT_ERROR_INVALIDTYPE,
                         expected, current));
             }
-        };
+        });
         public static final IAspectValuePropagator<Triple<PartTarget, IAspectProperties, Optional<Tag>>, Triple<PartTarget, IAspectProperties, ChanneledTargetInformation<FluidStack, Integer>>>
-                PROP_NBT_FLUIDPREDICATE = input -> {
+                PROP_NBT_FLUIDPREDICATE = reuseSleepingInformation(input -> {
             IAspectProperties properties = input.getMiddle();
             Optional<Tag> tag = input.getRight();
             int rate = properties.getValue(PROP_RATE).getRawValue();
@@ -1124,10 +1292,10 @@ public class TunnelAspectWriteBuilders {
             boolean blacklist = properties.getValue(PROP_BLACKLIST).getRawValue();
             IngredientPredicate<FluidStack, Integer> fluidStackMatcher = TunnelFluidHelpers.matchNbt(tag, subset, superset, requireNbt, recursive, blacklist, rate, exactAmount);
             return Triple.of(input.getLeft(), input.getMiddle(), ChanneledTargetInformation.of(fluidStackMatcher, fluidStackMatcher, -1));
-        };
+        });
         public static final IAspectValuePropagator<Triple<PartTarget, IAspectProperties, ChanneledTargetInformation<FluidStack, Integer>>, IFluidTarget>
-                PROP_FLUIDTARGET = input -> IFluidTarget.ofCapabilityProvider(input.getRight().getTransfer(),
-                input.getLeft(), input.getMiddle(), input.getRight().getIngredientPredicate());
+                PROP_FLUIDTARGET = input -> getOrCreateTarget(input, () -> IFluidTarget.ofCapabilityProvider(input.getRight().getTransfer(),
+                input.getLeft(), input.getMiddle(), input.getRight().getIngredientPredicate()));
 
         public static final IAspectValuePropagator<IFluidTarget, Void>
                 PROP_EXPORT = input -> {
@@ -1143,7 +1311,7 @@ public class TunnelAspectWriteBuilders {
 
             if (input.hasValidTarget()) {
                 input.preTransfer();
-                TunnelHelpers.moveSingleStateOptimized(
+                TunnelHelpers.moveBulkStateOptimized(
                         input.getNetwork(),
                         input.getChanneledNetwork(),
                         input.getChannel(),
@@ -1152,9 +1320,11 @@ public class TunnelAspectWriteBuilders {
                         -1,
                         input.getStorage(),
                         -1,
-                        input.getFluidStackMatcher(),
+                        IngredientPredicateChannelMatches.of(input.getFluidStackMatcher(), input.getChanneledNetwork(), input.getChannel()),
                         input.getPartTarget().getCenter(),
-                        input.isCraftIfFailed()
+                        input.isCraftIfFailed(),
+                        GeneralConfig.maxMovementsPerTick,
+                        true
                 );
                 input.postTransfer();
             }
@@ -1174,7 +1344,7 @@ public class TunnelAspectWriteBuilders {
 
             if (input.hasValidTarget()) {
                 input.preTransfer();
-                TunnelHelpers.moveSingleStateOptimized(
+                TunnelHelpers.moveBulkStateOptimized(
                         input.getNetwork(),
                         input.getChanneledNetwork(),
                         input.getChannel(),
@@ -1185,6 +1355,8 @@ public class TunnelAspectWriteBuilders {
                         -1,
                         input.getFluidStackMatcher(),
                         input.getPartTarget().getCenter(),
+                        false,
+                        GeneralConfig.maxMovementsPerTick,
                         false
                 );
                 input.postTransfer();
@@ -1706,7 +1878,7 @@ public class TunnelAspectWriteBuilders {
                     }
                 }
 
-                IngredientPredicate<FluidStack, Integer> fluidStackPredicate = TunnelFluidHelpers.matchFluidStack(prototype, checkFluid, false, checkNbt, blacklist, true);
+                IngredientPredicate<FluidStack, Integer> fluidStackPredicate = TunnelFluidHelpers.matchFluidStackUnpooled(prototype, checkFluid, false, checkNbt, blacklist, true);
                 return IFluidTarget.ofBlock(fluidStackPredicate, input.getLeft(), input.getMiddle(), fluidStackPredicate);
             };
             public static final IAspectValuePropagator<Triple<PartTarget, IAspectProperties, ValueTypeList.ValueList>, IFluidTarget>
@@ -59,6 +59,11 @@ public class TunnelAspects {
                     .handle(channel -> Iterators.size(channel.getPositions(ItemStack.EMPTY, ItemMatch.ANY)))
                     .handle(AspectReadBuilders.PROP_GET_INTEGER, "interfaces")
                     .buildRead();
+            public static final IAspectRead<ValueTypeDouble.ValueDouble, ValueTypeDouble>
+                    DOUBLE_UTILISATION = TunnelAspectReadBuilders.Network.Item.BUILDER_DOUBLE
+                    .handle(TunnelAspectReadBuilders.Network.Item.PROP_GET_UTILISATION)
+                    .handle(AspectReadBuilders.PROP_GET_DOUBLE, "utilisation")
+                    .buildRead();
             static {
                 Operators.REGISTRY.registerSerializer(new PositionedOperator.Serializer(
                         PositionedOperatorIngredientIndexItem.class, new ResourceLocation(Reference.MOD_ID, "positioned_ingredient_index_item")));
@@ -97,6 +102,11 @@ public class TunnelAspects {
                     .handle(channel -> Iterators.size(channel.getPositions(FluidStack.EMPTY, FluidMatch.ANY)))
                     .handle(AspectReadBuilders.PROP_GET_INTEGER, "interfaces")
                     .buildRead();
+            public static final IAspectRead<ValueTypeDouble.ValueDouble, ValueTypeDouble>
+                    DOUBLE_UTILISATION = TunnelAspectReadBuilders.Network.Fluid.BUILDER_DOUBLE
+                    .handle(TunnelAspectReadBuilders.Network.Fluid.PROP_GET_UTILISATION)
+                    .handle(AspectReadBuilders.PROP_GET_DOUBLE, "utilisation")
+                    .buildRead();
             static {
                 Operators.REGISTRY.registerSerializer(new PositionedOperator.Serializer(
                         PositionedOperatorIngredientIndexFluid.class, new ResourceLocation(Reference.MOD_ID, "positioned_ingredient_index_fluid")));
@@ -178,7 +188,7 @@ public class TunnelAspects {
                             .appendKind("export").buildWrite();
             public static final IAspectWrite<ValueTypeOperator.ValueOperator, ValueTypeOperator> PREDICATE_EXPORT =
                     TunnelAspectWriteBuilders.Item.BUILDER_OPERATOR
-                            .withProperties(TunnelAspectWriteBuilders.Item.PROPERTIES_RATESLOT)
+                            .withProperties(TunnelAspectWriteBuilders.Item.PROPERTIES_RATESLOT_OPERATOR)
                             .handle(TunnelAspectWriteBuilders.Item.PROP_ITEMSTACKPREDICATE_ITEMPREDICATE)
                             .handle(TunnelAspectWriteBuilders.Item.PROP_ITEMTARGET)
                             .handle(TunnelAspectWriteBuilders.Item.PROP_EXPORT)
@@ -228,7 +238,7 @@ public class TunnelAspects {
                             .appendKind("import").buildWrite();
             public static final IAspectWrite<ValueTypeOperator.ValueOperator, ValueTypeOperator> PREDICATE_IMPORT =
                     TunnelAspectWriteBuilders.Item.BUILDER_OPERATOR
-                            .withProperties(TunnelAspectWriteBuilders.Item.PROPERTIES_RATESLOT)
+                            .withProperties(TunnelAspectWriteBuilders.Item.PROPERTIES_RATESLOT_OPERATOR)
                             .handle(TunnelAspectWriteBuilders.Item.PROP_ITEMSTACKPREDICATE_ITEMPREDICATE)
                             .handle(TunnelAspectWriteBuilders.Item.PROP_ITEMTARGET)
                             .handle(TunnelAspectWriteBuilders.Item.PROP_IMPORT)
@@ -276,7 +286,7 @@ public class TunnelAspects {
                             .appendKind("export").buildWrite();
             public static final IAspectWrite<ValueTypeOperator.ValueOperator, ValueTypeOperator> PREDICATE_EXPORT =
                     TunnelAspectWriteBuilders.Fluid.BUILDER_OPERATOR
-                            .withProperties(TunnelAspectWriteBuilders.Fluid.PROPERTIES_RATE)
+                            .withProperties(TunnelAspectWriteBuilders.Fluid.PROPERTIES_RATE_OPERATOR)
                             .handle(TunnelAspectWriteBuilders.Fluid.PROP_FLUIDSTACKPREDICATE_FLUIDPREDICATE)
                             .handle(TunnelAspectWriteBuilders.Fluid.PROP_FLUIDTARGET)
                             .handle(TunnelAspectWriteBuilders.Fluid.PROP_EXPORT)
@@ -320,7 +330,7 @@ public class TunnelAspects {
                             .appendKind("import").buildWrite();
             public static final IAspectWrite<ValueTypeOperator.ValueOperator, ValueTypeOperator> PREDICATE_IMPORT =
                     TunnelAspectWriteBuilders.Fluid.BUILDER_OPERATOR
-                            .withProperties(TunnelAspectWriteBuilders.Fluid.PROPERTIES_RATE)
+                            .withProperties(TunnelAspectWriteBuilders.Fluid.PROPERTIES_RATE_OPERATOR)
                             .handle(TunnelAspectWriteBuilders.Fluid.PROP_FLUIDSTACKPREDICATE_FLUIDPREDICATE)
                             .handle(TunnelAspectWriteBuilders.Fluid.PROP_FLUIDTARGET)
                             .handle(TunnelAspectWriteBuilders.Fluid.PROP_IMPORT)
@@ -13,26 +13,59 @@ public class TunnelConnectionPositionedNetwork implements ITunnelConnection {
     private final int channel;
     private final PartPos pos;
     private final ITunnelTransfer transfer;
+    // Hashing the transfer can be expensive, so we only do it once.
+    private final int hash;
 
     public TunnelConnectionPositionedNetwork(INetwork network, int channel, PartPos pos, ITunnelTransfer transfer) {
         this.network = network;
         this.channel = channel;
         this.pos = pos;
         this.transfer = transfer;
+        this.hash = network.hashCode() ^ channel ^ pos.hashCode() ^ transfer.hashCode();
+    }
+
+    public INetwork getNetwork() {
+        return network;
+    }
+
+    public int getChannel() {
+        return channel;
+    }
+
+    public PartPos getPos() {
+        return pos;
+    }
+
+    public ITunnelTransfer getTransfer() {
+        return transfer;
+    }
+
+    /**
+     * Check if the given connection has the same network, channel and position, and the identical transfer.
+     * As transfer predicates are interned, this is a cheap check for connections that did not change.
+     * @param that Another connection.
+     * @return If the connections are identical.
+     */
+    public boolean isIdentical(TunnelConnectionPositionedNetwork that) {
+        return this.getClass() == that.getClass() && this.hash == that.hash && this.network == that.network
+                && this.channel == that.channel && this.transfer == that.transfer && this.pos.equals(that.pos);
     }
 
     @Override
     public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
         if (!(obj instanceof TunnelConnectionPositionedNetwork)) {
             return false;
         }
         TunnelConnectionPositionedNetwork that = (TunnelConnectionPositionedNetwork) obj;
-        return this.network == that.network && this.channel == that.channel
+        return this.hash == that.hash && this.network == that.network && this.channel == that.channel
                 && this.pos.equals(that.pos) && this.transfer.equals(that.transfer);
     }
 
     @Override
     public int hashCode() {
-        return this.network.hashCode() ^ this.channel ^ this.pos.hashCode() ^ this.transfer.hashCode();
+        return this.hash;
     }
 }
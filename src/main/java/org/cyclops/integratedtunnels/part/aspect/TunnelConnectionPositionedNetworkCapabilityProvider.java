@@ -15,16 +15,27 @@ public class TunnelConnectionPositionedNetworkCapabilityProvider extends TunnelC
 
     @Nullable
     private final ICapabilityProvider capabilityProvider;
+    private final int hash;
 
     public TunnelConnectionPositionedNetworkCapabilityProvider(INetwork network, int channel, PartPos pos,
                                                                ITunnelTransfer transfer,
                                                                @Nullable ICapabilityProvider capabilityProvider) {
         super(network, channel, pos, transfer);
         this.capabilityProvider = capabilityProvider;
+        this.hash = Objects.hashCode(this.capabilityProvider) ^ super.hashCode();
+    }
+
+    @Override
+    public boolean isIdentical(TunnelConnectionPositionedNetwork that) {
+        return super.isIdentical(that)
+                && this.capabilityProvider == ((TunnelConnectionPositionedNetworkCapabilityProvider) that).capabilityProvider;
     }
 
     @Override
     public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
         if (!(obj instanceof TunnelConnectionPositionedNetworkCapabilityProvider)) {
             return false;
         }
@@ -34,6 +45,6 @@ public class TunnelConnectionPositionedNetworkCapabilityProvider extends TunnelC
 
     @Override
     public int hashCode() {
-        return this.capabilityProvider == null ? 0 : this.capabilityProvider.hashCode() ^ super.hashCode();
+        return this.hash;
     }
 }
@@ -1,6 +1,5 @@
 package org.cyclops.integratedtunnels.part.aspect.listproxy;
 
-import com.google.common.collect.Iterators;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.core.Direction;
@@ -13,9 +12,13 @@ import org.cyclops.integrateddynamics.core.evaluate.variable.ValueObjectTypeItem
 import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypeListProxyPositioned;
 import org.cyclops.integrateddynamics.core.evaluate.variable.ValueTypes;
 import org.cyclops.integratedtunnels.capability.network.ItemNetworkConfig;
+import org.cyclops.integratedtunnels.core.TunnelSleepHelpers;
+import org.cyclops.integratedtunnels.core.network.ChannelIndexSnapshots;
 import org.cyclops.integratedtunnels.part.aspect.TunnelAspectReadBuilders;
 
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -24,6 +27,8 @@ import java.util.Optional;
 public class ValueTypeListProxyPositionedItemNetwork extends ValueTypeListProxyPositioned<ValueObjectTypeItemStack, ValueObjectTypeItemStack.ValueItemStack> implements INBTProvider {
 
     private int channel;
+    private long snapshotTick = -1;
+    private ChannelIndexSnapshots.Snapshot<ItemStack> snapshot = null;
 
     public ValueTypeListProxyPositionedItemNetwork(DimPos pos, Direction side, int channel) {
         super(TunnelValueTypeListProxyFactories.POSITIONED_ITEM_NETWORK.getName(), ValueTypes.OBJECT_ITEMSTACK, pos, side);
@@ -48,6 +53,19 @@ public class ValueTypeListProxyPositionedItemNetwork extends ValueTypeListProxyP
         return TunnelAspectReadBuilders.Network.getChannelIndex(ItemNetworkConfig.CAPABILITY, getPos(), getSide(), channel);
     }
 
+    protected List<ItemStack> getSnapshot() {
+        // The network is resolved at most once per tick,
+        // and the shared snapshot is reused until a change in the channel is observed,
+        // so that indexed access does not have to iterate over the index for every element.
+        long tick = TunnelSleepHelpers.getTick();
+        if (snapshot == null || snapshotTick != tick || !snapshot.isValid()) {
+            snapshot = TunnelAspectReadBuilders.Network.getChannelIndexSnapshot(ItemNetworkConfig.CAPABILITY, getPos(), getSide(), channel)
+                    .orElse(null);
+            snapshotTick = tick;
+        }
+        return snapshot != null ? snapshot.getInstances() : Collections.emptyList();
+    }
+
     @Override
     public int getLength() {
         return getChannelIndex()
@@ -57,18 +75,12 @@ public class ValueTypeListProxyPositionedItemNetwork extends ValueTypeListProxyP
 
     @Override
     public ValueObjectTypeItemStack.ValueItemStack get(int index) {
-        return ValueObjectTypeItemStack.ValueItemStack.of(getChannelIndex()
-                .map(store -> Iterators.get(store.iterator(), index, ItemStack.EMPTY))
-                .orElse(ItemStack.EMPTY));
+        List<ItemStack> instances = getSnapshot();
+        return ValueObjectTypeItemStack.ValueItemStack.of(index >= 0 && index < instances.size() ? instances.get(index) : ItemStack.EMPTY);
     }
 
     @Override
     public Iterator<ValueObjectTypeItemStack.ValueItemStack> iterator() {
-        // We use a custom iterator that retrieves the network only once.
-        // Because for large networks, the network would have to be retrieved for every single ingredient,
-        // which could result in a major performance problem.
-        return getChannelIndex()
-                .map(store -> store.stream().map(ValueObjectTypeItemStack.ValueItemStack::of).iterator())
-                .orElse(Iterators.forArray());
+        return getSnapshot().stream().map(ValueObjectTypeItemStack.ValueItemStack::of).iterator();
     }
 }
@@ -57,6 +57,10 @@ public abstract class PositionedOperatorIngredientIndex<T, M> extends Positioned
         return TunnelAspectReadBuilders.Network.getChannelIndex(getNetworkCapability(), getPos(), getSide(), channel);
     }
 
+    protected long getQuantity(T instance) {
+        return TunnelAspectReadBuilders.Network.getChannelQuantity(getNetworkCapability(), getPos(), getSide(), channel, instance);
+    }
+
     protected abstract Capability<? extends IPositionedAddonsNetworkIngredients<T, M>> getNetworkCapability();
 
     public static abstract class Function<T, M> implements IFunction {
@@ -31,9 +31,7 @@ public class PositionedOperatorIngredientIndexFluid extends PositionedOperatorIn
         @Override
         public IValue evaluate(SafeVariablesGetter variables) throws EvaluationException {
             ValueObjectTypeFluidStack.ValueFluidStack fluidStack = variables.getValue(0, ValueTypes.OBJECT_FLUIDSTACK);
-            return ValueTypeLong.ValueLong.of(getOperator().getChannelIndex()
-                    .map(index -> index.getQuantity(fluidStack.getRawValue()))
-                    .orElse(0L));
+            return ValueTypeLong.ValueLong.of(getOperator().getQuantity(fluidStack.getRawValue()));
         }
     }
 }
@@ -31,9 +31,7 @@ public class PositionedOperatorIngredientIndexItem extends PositionedOperatorIng
         @Override
         public IValue evaluate(SafeVariablesGetter variables) throws EvaluationException {
             ValueObjectTypeItemStack.ValueItemStack itemStack = variables.getValue(0, ValueTypes.OBJECT_ITEMSTACK);
-            return ValueTypeLong.ValueLong.of(getOperator().getChannelIndex()
-                    .map(index -> index.getQuantity(itemStack.getRawValue()))
-                    .orElse(0L));
+            return ValueTypeLong.ValueLong.of(getOperator().getQuantity(itemStack.getRawValue()));
         }
     }
 }
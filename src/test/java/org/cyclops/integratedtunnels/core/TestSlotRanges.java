@@ -0,0 +1,121 @@
+package org.cyclops.integratedtunnels.core;
+
+import org.cyclops.integrateddynamics.api.evaluate.EvaluationException;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+/**
+ * @author rubensworks
+ */
+public class TestSlotRanges {
+
+    protected static void assertRanges(SlotRanges ranges, int... startsAndEnds) {
+        assertThat(ranges.getRangeCount(), is(startsAndEnds.length / 2));
+        for (int i = 0; i < ranges.getRangeCount(); i++) {
+            assertThat("Start of range " + i, ranges.getStart(i), is(startsAndEnds[i * 2]));
+            assertThat("End of range " + i, ranges.getEnd(i), is(startsAndEnds[i * 2 + 1]));
+        }
+    }
+
+    @Test
+    public void testEmpty() throws EvaluationException {
+        assertThat(SlotRanges.parse(""), nullValue());
+        assertThat(SlotRanges.parse("  "), nullValue());
+    }
+
+    @Test
+    public void testSingleSlot() throws EvaluationException {
+        assertRanges(SlotRanges.parse("0"), 0, 0);
+        assertRanges(SlotRanges.parse("12"), 12, 12);
+    }
+
+    @Test
+    public void testSingleRange() throws EvaluationException {
+        assertRanges(SlotRanges.parse("0-8"), 0, 8);
+        assertRanges(SlotRanges.parse("3-3"), 3, 3);
+    }
+
+    @Test
+    public void testMultiple() throws EvaluationException {
+        assertRanges(SlotRanges.parse("0-8,12,15-17"), 0, 8, 12, 12, 15, 17);
+    }
+
+    @Test
+    public void testWhitespace() throws EvaluationException {
+        assertRanges(SlotRanges.parse(" 0 - 8 , 12 ,15- 17 "), 0, 8, 12, 12, 15, 17);
+    }
+
+    @Test
+    public void testOverlappingAndUnordered() throws EvaluationException {
+        assertRanges(SlotRanges.parse("10-12,0,11-20"), 10, 12, 0, 0, 11, 20);
+    }
+
+    @Test
+    public void testEquals() throws EvaluationException {
+        assertThat(SlotRanges.parse("0-8,12"), is(SlotRanges.parse("0-8, 12")));
+        assertThat(SlotRanges.parse("0-8,12").equals(SlotRanges.parse("0-8,13")), is(false));
+        assertThat(SlotRanges.parse("0-8,12").hashCode(), is(SlotRanges.parse("0-8, 12").hashCode()));
+    }
+
+    @Test
+    public void testCached() throws EvaluationException {
+        assertThat(SlotRanges.parse("1-4,7"), sameInstance(SlotRanges.parse("1-4,7")));
+    }
+
+    @Test(expected = EvaluationException.class)
+    public void testInvalidText() throws EvaluationException {
+        SlotRanges.parse("abc");
+    }
+
+    @Test(expected = EvaluationException.class)
+    public void testInvalidNegativeSlot() throws EvaluationException {
+        SlotRanges.parse("-1");
+    }
+
+    @Test(expected = EvaluationException.class)
+    public void testInvalidNegativeRange() throws EvaluationException {
+        SlotRanges.parse("-3-5");
+    }
+
+    @Test(expected = EvaluationException.class)
+    public void testInvalidNegativeEnd() throws EvaluationException {
+        SlotRanges.parse("3--5");
+    }
+
+    @Test(expected = EvaluationException.class)
+    public void testInvalidReversedRange() throws EvaluationException {
+        SlotRanges.parse("8-0");
+    }
+
+    @Test(expected = EvaluationException.class)
+    public void testInvalidEmptyPart() throws EvaluationException {
+        SlotRanges.parse("0,,2");
+    }
+
+    @Test(expected = EvaluationException.class)
+    public void testInvalidTrailingSeparator() throws EvaluationException {
+        SlotRanges.parse("0-");
+    }
+
+    @Test(expected = EvaluationException.class)
+    public void testInvalidLeadingComma() throws EvaluationException {
+        SlotRanges.parse(",0");
+    }
+
+    @Test
+    public void testInvalidIsNotCached() {
+        for (int i = 0; i < 2; i++) {
+            try {
+                SlotRanges.parse("1-x");
+                throw new AssertionError("Expected an exception");
+            } catch (EvaluationException e) {
+                // Expected on every call
+            }
+        }
+    }
+
+}
@@ -0,0 +1,177 @@
+package org.cyclops.integratedtunnels.core;
+
+import com.google.common.collect.Lists;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * @author rubensworks
+ */
+public class TestTimingWheel {
+
+    private TimingWheel<String> wheel;
+
+    @Before
+    public void beforeEach() {
+        wheel = new TimingWheel<>();
+    }
+
+    protected List<String> advance() {
+        List<String> emitted = Lists.newArrayList();
+        wheel.advance(emitted::add);
+        return emitted;
+    }
+
+    protected void advanceTo(long tick) {
+        while (wheel.getTick() < tick) {
+            wheel.advance(value -> {});
+        }
+    }
+
+    /**
+     * Advance until the given tick, and check that the value is emitted exactly at that tick.
+     */
+    protected void assertEmittedAt(String value, long tick) {
+        while (wheel.getTick() < tick - 1) {
+            assertThat("Emitted before tick " + tick + " at " + (wheel.getTick() + 1), advance().isEmpty(), is(true));
+        }
+        assertThat("Emitted at tick " + tick, advance(), is(Lists.newArrayList(value)));
+    }
+
+    @Test
+    public void testInitialTick() {
+        assertThat(wheel.getTick(), is(0L));
+        assertThat(advance().isEmpty(), is(true));
+        assertThat(wheel.getTick(), is(1L));
+    }
+
+    @Test
+    public void testNextTick() {
+        wheel.schedule("a", 1);
+        assertEmittedAt("a", 1);
+    }
+
+    @Test
+    public void testPastTick() {
+        advanceTo(10);
+        wheel.schedule("a", 5);
+        assertEmittedAt("a", 11);
+    }
+
+    @Test
+    public void testCurrentTick() {
+        advanceTo(10);
+        wheel.schedule("a", 10);
+        assertEmittedAt("a", 11);
+    }
+
+    @Test
+    public void testFirstLevelBoundaries() {
+        wheel.schedule("a", 63);
+        assertEmittedAt("a", 63);
+        wheel.schedule("b", 64);
+        assertEmittedAt("b", 64);
+        wheel.schedule("c", 65);
+        assertEmittedAt("c", 65);
+    }
+
+    @Test
+    public void testCascadeSecondLevel() {
+        wheel.schedule("a", 100);
+        assertEmittedAt("a", 100);
+    }
+
+    @Test
+    public void testCascadeThirdLevel() {
+        wheel.schedule("a", 4095);
+        assertEmittedAt("a", 4095);
+        wheel.schedule("b", 4096);
+        assertEmittedAt("b", 4096);
+        wheel.schedule("c", 4096 + 64 + 3);
+        assertEmittedAt("c", 4096 + 64 + 3);
+    }
+
+    @Test
+    public void testCascadeFourthLevel() {
+        wheel.schedule("a", TimingWheel.MAX_DELAY);
+        assertEmittedAt("a", TimingWheel.MAX_DELAY);
+    }
+
+    @Test
+    public void testMaxDelayClamp() {
+        advanceTo(5);
+        wheel.schedule("a", 5 + TimingWheel.MAX_DELAY * 3);
+        assertEmittedAt("a", 5 + TimingWheel.MAX_DELAY);
+    }
+
+    @Test
+    public void testMultipleValuesSameTick() {
+        wheel.schedule("a", 70);
+        wheel.schedule("b", 70);
+        advanceTo(69);
+        assertThat(advance(), is(Lists.newArrayList("a", "b")));
+    }
+
+    @Test
+    public void testMultipleValuesDifferentLevels() {
+        wheel.schedule("c", 5000);
+        wheel.schedule("a", 3);
+        wheel.schedule("b", 130);
+        assertEmittedAt("a", 3);
+        assertEmittedAt("b", 130);
+        assertEmittedAt("c", 5000);
+    }
+
+    @Test
+    public void testScheduleAcrossSlotBoundary() {
+        advanceTo(62);
+        wheel.schedule("a", 66);
+        assertEmittedAt("a", 66);
+    }
+
+    @Test
+    public void testScheduleAcrossSecondLevelBoundary() {
+        advanceTo(4090);
+        wheel.schedule("a", 4100);
+        assertEmittedAt("a", 4100);
+    }
+
+    @Test
+    public void testScheduleWhileAdvancing() {
+        wheel.schedule("a", 1);
+        List<String> emitted = Lists.newArrayList();
+        wheel.advance(value -> {
+            emitted.add(value);
+            wheel.schedule(value + "'", wheel.getTick() + 64);
+        });
+        assertThat(emitted, is(Lists.newArrayList("a")));
+        assertEmittedAt("a'", 65);
+    }
+
+    @Test
+    public void testWrapAroundTopLevel() {
+        // Move to the end of the span of the top level
+        long end = TimingWheel.MAX_DELAY * 64;
+        advanceTo(end - 10);
+        wheel.schedule("a", end + 5);
+        wheel.schedule("b", end - 10 + TimingWheel.MAX_DELAY);
+        assertEmittedAt("a", end + 5);
+        assertEmittedAt("b", end - 10 + TimingWheel.MAX_DELAY);
+    }
+
+    @Test
+    public void testClear() {
+        wheel.schedule("a", 3);
+        wheel.schedule("b", 300);
+        wheel.clear();
+        for (int i = 0; i < 400; i++) {
+            assertThat(advance().isEmpty(), is(true));
+        }
+    }
+
+}
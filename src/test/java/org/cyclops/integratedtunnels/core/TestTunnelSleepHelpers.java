@@ -0,0 +1,115 @@
+package org.cyclops.integratedtunnels.core;
+
+import org.cyclops.integratedtunnels.GeneralConfig;
+import org.cyclops.integratedtunnels.part.aspect.ITunnelConnection;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * @author rubensworks
+ */
+public class TestTunnelSleepHelpers {
+
+    private int timeout;
+    private int timeoutMax;
+
+    @Before
+    public void beforeEach() {
+        timeout = GeneralConfig.inventoryUnchangedTickTimeout;
+        timeoutMax = GeneralConfig.inventoryUnchangedTickTimeoutMax;
+        GeneralConfig.inventoryUnchangedTickTimeout = 10;
+        GeneralConfig.inventoryUnchangedTickTimeoutMax = 200;
+        TunnelSleepHelpers.clear();
+    }
+
+    @After
+    public void afterEach() {
+        TunnelSleepHelpers.clear();
+        GeneralConfig.inventoryUnchangedTickTimeout = timeout;
+        GeneralConfig.inventoryUnchangedTickTimeoutMax = timeoutMax;
+    }
+
+    /**
+     * Put the connection to sleep, and count the ticks until it wakes up.
+     */
+    protected static int sleepTicks(ITunnelConnection connection) {
+        TunnelSleepHelpers.sleep(connection);
+        int ticks = 0;
+        while (TunnelSleepHelpers.isSleeping(connection)) {
+            TunnelSleepHelpers.onTick();
+            ticks++;
+        }
+        return ticks;
+    }
+
+    @Test
+    public void testGetSleepTicks() {
+        assertThat(TunnelSleepHelpers.getSleepTicks(0), is(10));
+        assertThat(TunnelSleepHelpers.getSleepTicks(1), is(20));
+        assertThat(TunnelSleepHelpers.getSleepTicks(4), is(160));
+        assertThat(TunnelSleepHelpers.getSleepTicks(5), is(200));
+        assertThat(TunnelSleepHelpers.getSleepTicks(16), is(200));
+    }
+
+    @Test
+    public void testGetSleepTicksMaxBelowTimeout() {
+        GeneralConfig.inventoryUnchangedTickTimeoutMax = 5;
+        assertThat(TunnelSleepHelpers.getSleepTicks(0), is(10));
+        assertThat(TunnelSleepHelpers.getSleepTicks(3), is(10));
+    }
+
+    @Test
+    public void testBackoffDoubles() {
+        ITunnelConnection connection = new ITunnelConnection() {};
+        assertThat(sleepTicks(connection), is(10));
+        assertThat(sleepTicks(connection), is(20));
+        assertThat(sleepTicks(connection), is(40));
+        assertThat(sleepTicks(connection), is(80));
+        assertThat(sleepTicks(connection), is(160));
+        assertThat(sleepTicks(connection), is(200));
+        assertThat(sleepTicks(connection), is(200));
+    }
+
+    @Test
+    public void testBackoffResetOnMoved() {
+        ITunnelConnection connection = new ITunnelConnection() {};
+        sleepTicks(connection);
+        sleepTicks(connection);
+        TunnelSleepHelpers.onMoved(connection);
+        assertThat(sleepTicks(connection), is(10));
+    }
+
+    @Test
+    public void testBackoffKeptOnWake() {
+        ITunnelConnection connection = new ITunnelConnection() {};
+        sleepTicks(connection);
+        TunnelSleepHelpers.sleep(connection);
+        TunnelSleepHelpers.wake(connection);
+        assertThat(TunnelSleepHelpers.isSleeping(connection), is(false));
+        assertThat(sleepTicks(connection), is(40));
+    }
+
+    @Test
+    public void testBackoffPerConnection() {
+        ITunnelConnection connection1 = new ITunnelConnection() {};
+        ITunnelConnection connection2 = new ITunnelConnection() {};
+        sleepTicks(connection1);
+        sleepTicks(connection1);
+        assertThat(sleepTicks(connection2), is(10));
+        assertThat(sleepTicks(connection1), is(40));
+    }
+
+    @Test
+    public void testDisabled() {
+        GeneralConfig.inventoryUnchangedTickTimeout = 0;
+        GeneralConfig.inventoryUnchangedTickTimeoutMax = 0;
+        ITunnelConnection connection = new ITunnelConnection() {};
+        TunnelSleepHelpers.sleep(connection);
+        assertThat(TunnelSleepHelpers.isSleeping(connection), is(false));
+    }
+
+}
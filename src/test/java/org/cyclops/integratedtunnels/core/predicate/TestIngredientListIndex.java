@@ -0,0 +1,91 @@
+package org.cyclops.integratedtunnels.core.predicate;
+
+import com.google.common.collect.Lists;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * @author rubensworks
+ */
+public class TestIngredientListIndex {
+
+    /**
+     * Strings are keyed by their lowercase first character and hashed by their length,
+     * which are equal for strings that are equal ignoring case.
+     */
+    protected static IngredientListIndex<String> index(List<String> instances) {
+        return new IngredientListIndex<>(instances,
+                instance -> instance.isEmpty() ? "" : Character.toLowerCase(instance.charAt(0)),
+                String::length,
+                String::equalsIgnoreCase);
+    }
+
+    @Test
+    public void testEmpty() {
+        IngredientListIndex<String> index = index(Collections.emptyList());
+        assertThat(index.getInstances().isEmpty(), is(true));
+        assertThat(index.matchesAny("a"), is(false));
+        assertThat(index.matchesAny(""), is(false));
+    }
+
+    @Test
+    public void testNull() {
+        IngredientListIndex<String> index = index(Lists.newArrayList("a"));
+        assertThat(index.matchesAny(null), is(false));
+    }
+
+    @Test
+    public void testInstancesOrder() {
+        List<String> instances = Lists.newArrayList("cc", "a", "bbb", "a");
+        assertThat(index(instances).getInstances(), is(instances));
+    }
+
+    @Test
+    public void testMatches() {
+        IngredientListIndex<String> index = index(Lists.newArrayList("apple", "banana", "cherry", ""));
+        assertThat(index.matchesAny("apple"), is(true));
+        assertThat(index.matchesAny("APPLE"), is(true));
+        assertThat(index.matchesAny("Banana"), is(true));
+        assertThat(index.matchesAny("cherry"), is(true));
+        assertThat(index.matchesAny(""), is(true));
+    }
+
+    @Test
+    public void testNoMatchUnknownKey() {
+        IngredientListIndex<String> index = index(Lists.newArrayList("apple", "banana"));
+        assertThat(index.matchesAny("dog"), is(false));
+    }
+
+    @Test
+    public void testNoMatchUnknownHash() {
+        IngredientListIndex<String> index = index(Lists.newArrayList("apple", "banana"));
+        assertThat(index.matchesAny("apples"), is(false));
+        assertThat(index.matchesAny("a"), is(false));
+    }
+
+    @Test
+    public void testNoMatchSameBucket() {
+        // Equal key and hash, but different contents
+        IngredientListIndex<String> index = index(Lists.newArrayList("apple", "angle"));
+        assertThat(index.matchesAny("apple"), is(true));
+        assertThat(index.matchesAny("angle"), is(true));
+        assertThat(index.matchesAny("ankle"), is(false));
+    }
+
+    @Test
+    public void testEquivalentToLinearScan() {
+        List<String> instances = Lists.newArrayList("a", "ab", "abc", "b", "ba", "bac", "Abc", "xyz", "");
+        List<String> queries = Lists.newArrayList("a", "A", "ab", "AB", "abd", "abc", "b", "bA", "bad", "c", "xyz", "xy", "", "zzz");
+        IngredientListIndex<String> index = index(instances);
+        for (String query : queries) {
+            boolean expected = instances.stream().anyMatch(query::equalsIgnoreCase);
+            assertThat("For " + query, index.matchesAny(query), is(expected));
+        }
+    }
+
+}
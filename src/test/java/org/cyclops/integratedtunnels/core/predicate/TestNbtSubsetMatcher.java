@@ -0,0 +1,140 @@
+package org.cyclops.integratedtunnels.core.predicate;
+
+import com.google.common.collect.Lists;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.StringTag;
+import org.cyclops.integrateddynamics.core.helper.NbtHelpers;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * @author rubensworks
+ */
+public class TestNbtSubsetMatcher {
+
+    protected static CompoundTag tag(Object... keysAndValues) {
+        CompoundTag tag = new CompoundTag();
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            String key = (String) keysAndValues[i];
+            Object value = keysAndValues[i + 1];
+            if (value instanceof Integer) {
+                tag.putInt(key, (Integer) value);
+            } else if (value instanceof String) {
+                tag.putString(key, (String) value);
+            } else if (value instanceof CompoundTag) {
+                tag.put(key, (CompoundTag) value);
+            } else if (value instanceof ListTag) {
+                tag.put(key, (ListTag) value);
+            } else {
+                throw new IllegalArgumentException("Unsupported value " + value);
+            }
+        }
+        return tag;
+    }
+
+    protected static ListTag list(Object... values) {
+        ListTag list = new ListTag();
+        for (Object value : values) {
+            list.add(value instanceof String ? StringTag.valueOf((String) value) : (CompoundTag) value);
+        }
+        return list;
+    }
+
+    protected static List<CompoundTag> getTags() {
+        return Lists.newArrayList(
+                tag(),
+                tag("a", 1),
+                tag("a", 2),
+                tag("a", "1"),
+                tag("b", 1),
+                tag("a", 1, "b", 1),
+                tag("a", 1, "b", 2),
+                tag("a", 1, "b", 1, "c", 1),
+                tag("c", tag()),
+                tag("c", tag("d", 1)),
+                tag("c", tag("d", 2)),
+                tag("c", tag("d", 1, "e", 1)),
+                tag("c", tag("e", tag("f", "x"))),
+                tag("c", tag("e", tag("f", "x", "g", 1))),
+                tag("a", 1, "c", tag("d", 1)),
+                tag("a", 1, "c", tag("d", 1, "e", 1)),
+                tag("l", list()),
+                tag("l", list("x")),
+                tag("l", list("x", "y")),
+                tag("l", list("y", "x")),
+                tag("l", list(tag("d", 1))),
+                tag("l", list(tag("d", 1, "e", 1))),
+                tag("a", 1, "l", list("x"), "c", tag("d", 1))
+        );
+    }
+
+    protected static void assertEquivalent(boolean recursive) {
+        List<CompoundTag> tags = getTags();
+        for (CompoundTag reference : tags) {
+            NbtSubsetMatcher matcher = new NbtSubsetMatcher(reference, recursive);
+            for (CompoundTag tag : tags) {
+                assertThat("Subset of " + reference + " in " + tag + " (recursive: " + recursive + ")",
+                        matcher.isSubsetOf(tag), is(NbtHelpers.nbtMatchesSubset(reference, tag, recursive)));
+                assertThat("Superset of " + reference + " over " + tag + " (recursive: " + recursive + ")",
+                        matcher.isSupersetOf(tag), is(NbtHelpers.nbtMatchesSubset(tag, reference, recursive)));
+            }
+        }
+    }
+
+    @Test
+    public void testEquivalentRecursive() {
+        assertEquivalent(true);
+    }
+
+    @Test
+    public void testEquivalentNonRecursive() {
+        assertEquivalent(false);
+    }
+
+    @Test
+    public void testEmptyReference() {
+        NbtSubsetMatcher matcher = new NbtSubsetMatcher(tag(), true);
+        assertThat(matcher.isSubsetOf(tag()), is(true));
+        assertThat(matcher.isSubsetOf(tag("a", 1)), is(true));
+        assertThat(matcher.isSupersetOf(tag()), is(true));
+        assertThat(matcher.isSupersetOf(tag("a", 1)), is(false));
+    }
+
+    @Test
+    public void testSubset() {
+        NbtSubsetMatcher matcher = new NbtSubsetMatcher(tag("a", 1, "c", tag("d", 1)), true);
+        assertThat(matcher.isSubsetOf(tag("a", 1, "c", tag("d", 1, "e", 1))), is(true));
+        assertThat(matcher.isSubsetOf(tag("a", 1, "b", 2, "c", tag("d", 1))), is(true));
+        assertThat(matcher.isSubsetOf(tag("a", 1, "c", tag("d", 2))), is(false));
+        assertThat(matcher.isSubsetOf(tag("a", "1", "c", tag("d", 1))), is(false));
+        assertThat(matcher.isSubsetOf(tag("c", tag("d", 1))), is(false));
+    }
+
+    @Test
+    public void testSubsetNonRecursive() {
+        NbtSubsetMatcher matcher = new NbtSubsetMatcher(tag("c", tag("d", 1)), false);
+        assertThat(matcher.isSubsetOf(tag("c", tag("d", 1))), is(true));
+        assertThat(matcher.isSubsetOf(tag("c", tag("d", 1, "e", 1))), is(false));
+    }
+
+    @Test
+    public void testSuperset() {
+        NbtSubsetMatcher matcher = new NbtSubsetMatcher(tag("a", 1, "b", 1), true);
+        assertThat(matcher.isSupersetOf(tag("a", 1)), is(true));
+        assertThat(matcher.isSupersetOf(tag("a", 1, "b", 1)), is(true));
+        assertThat(matcher.isSupersetOf(tag("a", 2)), is(false));
+        assertThat(matcher.isSupersetOf(tag("a", 1, "c", 1)), is(false));
+    }
+
+    @Test
+    public void testReference() {
+        CompoundTag reference = tag("a", 1);
+        assertThat(new NbtSubsetMatcher(reference, true).getReference() == reference, is(true));
+    }
+
+}